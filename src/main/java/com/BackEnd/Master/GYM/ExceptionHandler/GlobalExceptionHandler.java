@@ -2,6 +2,10 @@ package com.BackEnd.Master.GYM.ExceptionHandler;
 
 import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
 import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.Exceptions.ServiceBusyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -52,6 +56,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    // Back-pressure: the client should retry later
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, String>> handleServiceBusyException(ServiceBusyException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Service Busy");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    // No pooled connection within connection-timeout: with virtual threads the pool is where load queues
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<Map<String, String>> handleConnectionUnavailable(RuntimeException ex) {
+        return handleServiceBusyException(new ServiceBusyException("Database busy, retry shortly", 1));
+    }
+
     // Gestion des exceptions générales
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneralException(Exception ex) {
@@ -0,0 +1,14 @@
+package com.BackEnd.Master.GYM.Exceptions;
+
+import lombok.Getter;
+
+// Load shedding: mapped to 503 with a Retry-After header
+@Getter
+public class ServiceBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.BackEnd.Master.GYM.Mapper;
+
+import com.BackEnd.Master.GYM.dto.CheckInDto;
+import com.BackEnd.Master.GYM.entity.CheckIn;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface CheckInMapper {
+
+    CheckInDto map(CheckIn entity);
+
+    List<CheckInDto> map(List<CheckIn> entities);
+}
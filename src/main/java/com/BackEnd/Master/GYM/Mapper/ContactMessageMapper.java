@@ -18,8 +18,12 @@ public interface ContactMessageMapper {
     List<ContactMessageDto> map(List<ContactMessage> entities);
 
     @Mapping(source = "status", target = "status")
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "simHash", ignore = true)
     ContactMessage unMap(ContactMessageDto dto);
 
     @Mapping(source = "status", target = "status")
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "simHash", ignore = true)
     void updateEntityFromDto(@MappingTarget ContactMessage entity, ContactMessageDto dto);
 }
\ No newline at end of file
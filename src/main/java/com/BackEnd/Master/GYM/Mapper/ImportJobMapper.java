@@ -0,0 +1,22 @@
+package com.BackEnd.Master.GYM.Mapper;
+
+import com.BackEnd.Master.GYM.dto.ImportJobDto;
+import com.BackEnd.Master.GYM.dto.ImportRowErrorDto;
+import com.BackEnd.Master.GYM.entity.ImportJob;
+import com.BackEnd.Master.GYM.entity.ImportRowError;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ImportJobMapper {
+
+    ImportJobDto map(ImportJob entity);
+
+    List<ImportJobDto> map(List<ImportJob> entities);
+
+    ImportRowErrorDto mapError(ImportRowError entity);
+
+    List<ImportRowErrorDto> mapErrors(List<ImportRowError> entities);
+}
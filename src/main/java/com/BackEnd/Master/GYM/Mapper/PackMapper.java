@@ -0,0 +1,23 @@
+package com.BackEnd.Master.GYM.Mapper;
+
+import com.BackEnd.Master.GYM.dto.PackDto;
+import com.BackEnd.Master.GYM.entity.Pack;
+import com.BackEnd.Master.GYM.util.Money;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", imports = Money.class)
+public interface PackMapper {
+
+    @Mapping(target = "price", expression = "java(Money.fromMinor(entity.getPriceMinor()))")
+    PackDto map(Pack entity);
+
+    List<PackDto> map(List<Pack> entities);
+
+    @Mapping(target = "priceMinor", expression = "java(dto.getPrice() == null ? null : Money.toMinor(dto.getPrice()))")
+    @Mapping(target = "active", expression = "java(dto.getActive() == null || dto.getActive())")
+    Pack unMap(PackDto dto);
+}
@@ -0,0 +1,27 @@
+package com.BackEnd.Master.GYM.Mapper;
+
+import com.BackEnd.Master.GYM.dto.PaymentDto;
+import com.BackEnd.Master.GYM.dto.RevenueRollupDto;
+import com.BackEnd.Master.GYM.entity.Payment;
+import com.BackEnd.Master.GYM.entity.RevenueRollup;
+import com.BackEnd.Master.GYM.util.Money;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", imports = Money.class)
+public interface PaymentMapper {
+
+    @Mapping(source = "customer.id", target = "customerId")
+    @Mapping(source = "pack.id", target = "packId")
+    @Mapping(target = "amount", expression = "java(Money.fromMinor(entity.getAmountMinor()))")
+    PaymentDto map(Payment entity);
+
+    List<PaymentDto> map(List<Payment> entities);
+
+    @Mapping(target = "dimensionName", ignore = true)
+    @Mapping(target = "amount", expression = "java(Money.fromMinor(entity.getAmountMinor()))")
+    RevenueRollupDto mapRollup(RevenueRollup entity);
+}
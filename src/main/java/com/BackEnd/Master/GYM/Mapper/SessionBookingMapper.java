@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.Mapper;
+
+import com.BackEnd.Master.GYM.dto.SessionBookingDto;
+import com.BackEnd.Master.GYM.entity.SessionBooking;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface SessionBookingMapper {
+
+    @Mapping(source = "session.id", target = "sessionId")
+    @Mapping(source = "customer.id", target = "customerId")
+    SessionBookingDto map(SessionBooking entity);
+
+    List<SessionBookingDto> map(List<SessionBooking> entities);
+}
@@ -0,0 +1,20 @@
+package com.BackEnd.Master.GYM.Mapper;
+
+import com.BackEnd.Master.GYM.dto.SessionWaitlistEntryDto;
+import com.BackEnd.Master.GYM.entity.SessionWaitlistEntry;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface SessionWaitlistMapper {
+
+    @Mapping(source = "session.id", target = "sessionId")
+    @Mapping(source = "customer.id", target = "customerId")
+    @Mapping(target = "position", ignore = true)
+    SessionWaitlistEntryDto map(SessionWaitlistEntry entity);
+
+    List<SessionWaitlistEntryDto> map(List<SessionWaitlistEntry> entities);
+}
@@ -7,12 +7,15 @@ import com.BackEnd.Master.GYM.entity.TrainingSession;
 import java.util.List;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface TrainingSessionMapper {
     TrainingSessionDto map(TrainingSession entity);
     List<TrainingSessionDto> map(List<TrainingSession> entities);
+    @Mapping(target = "bookedCount", ignore = true)
     TrainingSession unMap(TrainingSessionDto dto);
+    @Mapping(target = "bookedCount", ignore = true)
     void updateEntityFromDto(@MappingTarget TrainingSession entity, TrainingSessionDto dto);
 }
\ No newline at end of file
@@ -26,6 +26,8 @@ public interface customerMapper {
 
     List<customerDto> map(List<customer> entities);
 
+    customerDto copy(customerDto dto);
+
 
     @Mapping(source = "userName", target = "userName")
     @Mapping(source = "email", target = "email")
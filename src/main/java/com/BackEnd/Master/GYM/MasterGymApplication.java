@@ -4,6 +4,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.*;
@@ -16,6 +17,7 @@ import com.BackEnd.Master.GYM.repository.RolesRepo;
 import lombok.RequiredArgsConstructor;
 
 @SpringBootApplication
+@EnableScheduling
 @RequiredArgsConstructor
 public class MasterGymApplication {
 
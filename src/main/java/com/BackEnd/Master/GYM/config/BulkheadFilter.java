@@ -0,0 +1,100 @@
+package com.BackEnd.Master.GYM.config;
+
+import com.BackEnd.Master.GYM.util.Bulkhead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs each request inside the bulkhead of its route group (images, auth, public, admin, api), so a gallery
+// pulling a hundred full-size images fills the image slots only and logins keep their own.
+// Sits in front of the security chain: a rejected request costs no token decoding or password hashing.
+// Metrics per group: bulkhead.active, bulkhead.queued, bulkhead.limit, bulkhead.rejected, bulkhead.wait.
+public class BulkheadFilter extends OncePerRequestFilter {
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+    private final List<Route> routes = new ArrayList<>();
+
+    public BulkheadFilter(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        for (BulkheadProperties.Group group : properties.getGroups()) {
+            if (group.getName() == null || group.getName().isBlank() || group.getPaths().isEmpty()) {
+                throw new IllegalStateException("Bulkhead groups need a name and at least one path");
+            }
+            Bulkhead bulkhead = new Bulkhead(group.getMaxConcurrent(), group.getMaxQueued(), group.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+            String name = group.getName();
+            Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive).tag("group", name).register(meterRegistry);
+            Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued).tag("group", name).register(meterRegistry);
+            Gauge.builder("bulkhead.limit", bulkhead, Bulkhead::getMaxConcurrent).tag("group", name).register(meterRegistry);
+            routes.add(new Route(group, bulkhead,
+                    Counter.builder("bulkhead.rejected").tag("group", name).register(meterRegistry),
+                    Timer.builder("bulkhead.wait").tag("group", name).register(meterRegistry)));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = route(pathHelper.getPathWithinApplication(request));
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean entered;
+        try {
+            entered = route.bulkhead.tryEnter();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        route.waited.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!entered) {
+            route.rejected.increment();
+            reject(response, route.group);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            route.bulkhead.exit();
+        }
+    }
+
+    private Route route(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.group.getPaths()) {
+                if (matcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Same body as GlobalExceptionHandler's Service Busy answer, which can't be reached from a filter
+    private static void reject(HttpServletResponse response, BulkheadProperties.Group group) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(group.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Service Busy\",\"message\":\"Too many " + group.getName()
+                + " requests in flight, retry shortly\"}");
+    }
+
+    private record Route(BulkheadProperties.Group group, Bulkhead bulkhead, Counter rejected, Timer waited) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.BackEnd.Master.GYM.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// app.bulkhead.groups[n].* - one entry per kind of traffic, matched on the request path in order; the
+// first group whose paths match takes the request, requests matching no group are not limited.
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    private List<Group> groups = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private String name;
+        // Ant-style patterns, e.g. /photos/images/**
+        private List<String> paths = new ArrayList<>();
+        private int maxConcurrent = 50;
+        private int maxQueued = 50;
+        // The queued request holds its Tomcat worker meanwhile, keep this short
+        private long maxWaitMs = 500;
+        private long retryAfterSeconds = 1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.BackEnd.Master.GYM.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Tables that used IDENTITY before moving to a pooled table generator already hold ids; before anything
+// is inserted, push each generator row past max(id). The pooled optimizer hands out the block ending
+// at the stored value, hence the two blocks of margin.
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorSeeder implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorSeeder.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof TableGenerator generator && persister instanceof AbstractEntityPersister entity) {
+                seed(generator, entity.getIdentifierTableName(), entity.getIdentifierColumnNames()[0]);
+            }
+        });
+    }
+
+    private void seed(TableGenerator generator, String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long floor = maxId + 2L * generator.getIncrementSize();
+        String generatorTable = generator.getTableName();
+        List<Long> current = jdbcTemplate.queryForList("SELECT " + generator.getValueColumnName() + " FROM " + generatorTable
+                + " WHERE " + generator.getSegmentColumnName() + " = ?", Long.class, generator.getSegmentValue());
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO " + generatorTable + " (" + generator.getSegmentColumnName() + ", "
+                    + generator.getValueColumnName() + ") VALUES (?, ?)", generator.getSegmentValue(), floor);
+        } else if (current.get(0) < maxId + generator.getIncrementSize() + 1) {
+            jdbcTemplate.update("UPDATE " + generatorTable + " SET " + generator.getValueColumnName() + " = ? WHERE "
+                    + generator.getSegmentColumnName() + " = ?", floor, generator.getSegmentValue());
+        } else {
+            return;
+        }
+        log.info("Moved id generator '{}' past existing {} ids (max {})", generator.getSegmentValue(), table, maxId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.BackEnd.Master.GYM.config;
+
+import com.BackEnd.Master.GYM.config.ReplicaRoutingDataSource.RequestState;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Opens the routing scope of each request. An authenticated caller whose request wrote keeps reading from
+// the primary for pinMillis afterwards, so the replica lag doesn't hide their own changes from them.
+// Runs after the security chain, which sets the remote user.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final int MAX_PINNED = 10_000;
+
+    private final long pinMillis;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String caller = request.getRemoteUser();
+        long now = System.currentTimeMillis();
+        boolean pinned = caller != null && pinnedUntil.getOrDefault(caller, 0L) > now;
+        RequestState state = ReplicaRoutingDataSource.openRequest(pinned);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.closeRequest();
+            if (state.wrote() && caller != null && pinMillis > 0) {
+                if (pinnedUntil.size() >= MAX_PINNED) {
+                    pinnedUntil.values().removeIf(until -> until <= now);
+                }
+                pinnedUntil.put(caller, System.currentTimeMillis() + pinMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.BackEnd.Master.GYM.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Chooses the pool when a connection is actually fetched (behind a LazyConnectionDataSourceProxy, that is
+// at the first statement, once the transaction is set up). The replica only gets read-only transactions
+// started by a service method: Spring Data marks its own repository reads read-only too, and those are
+// often followed by a write outside any surrounding transaction, so they stay on the primary.
+// Within a request, the first connection of a read-write transaction pins the rest of the request to the
+// primary; connections outside any transaction (open-in-view lazy loads, plain JDBC reads) don't.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<RequestState> REQUEST = new ThreadLocal<>();
+
+    private final String servicePrefix;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String servicePrefix, MeterRegistry meterRegistry) {
+        this.servicePrefix = servicePrefix;
+        this.primaryConnections = Counter.builder("app.datasource.routed.connections").tag("target", PRIMARY).register(meterRegistry);
+        this.replicaConnections = Counter.builder("app.datasource.routed.connections").tag("target", REPLICA).register(meterRegistry);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    // Called by ReadYourWritesFilter around each request; pinned when the caller wrote shortly before
+    public static RequestState openRequest(boolean pinned) {
+        RequestState state = new RequestState(pinned);
+        REQUEST.set(state);
+        return state;
+    }
+
+    public static void closeRequest() {
+        REQUEST.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RequestState request = REQUEST.get();
+        boolean active = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = active && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && (request == null || !request.pinned) && isServiceTransaction()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        if (active && !readOnly && request != null) {
+            request.pinned = true;
+            request.wrote = true;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    // Transaction names are the declaring class and method of the outermost @Transactional
+    private boolean isServiceTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(servicePrefix);
+    }
+
+    public static final class RequestState {
+        private volatile boolean pinned;
+        private volatile boolean wrote;
+
+        private RequestState(boolean pinned) {
+            this.pinned = pinned;
+        }
+
+        public boolean wrote() {
+            return wrote;
+        }
+    }
+}
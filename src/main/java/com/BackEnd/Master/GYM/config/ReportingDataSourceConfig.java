@@ -0,0 +1,90 @@
+package com.BackEnd.Master.GYM.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Puts ReportingRoutingDataSource in front of whatever "dataSource" is (the auto-configured pool, or the
+// replica routing one). The reporting pool is not a DataSource bean, one would switch off the
+// auto-configured pool; its hikaricp.* metrics are bound here instead (tag pool=reporting).
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.reporting.enabled", havingValue = "true")
+public class ReportingDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor reportingDataSourceRouter(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new Router(environment, meterRegistry);
+    }
+
+    // Same as in ReplicaRoutingConfig: otherwise open-in-view keeps a request on its first transaction's pool
+    @Bean
+    public HibernatePropertiesCustomizer releaseReportingConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static final class Router implements BeanPostProcessor, DisposableBean {
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private HikariDataSource reporting;
+
+        Router(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource oltp) || reporting != null) {
+                return bean;
+            }
+            MeterRegistry registry = meterRegistry.getObject();
+            reporting = new HikariDataSource();
+            reporting.setPoolName(ReportingRoutingDataSource.REPORTING);
+            reporting.setJdbcUrl(property("url"));
+            reporting.setUsername(property("username"));
+            reporting.setPassword(property("password"));
+            reporting.setMaximumPoolSize(4);
+            reporting.setReadOnly(true);
+            Binder.get(environment).bind("app.datasource.reporting.hikari", Bindable.ofInstance(reporting));
+            reporting.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+            List<String> transactions = List.of(environment.getProperty("app.datasource.reporting.transactions", String[].class, new String[0]));
+            ReportingRoutingDataSource routing = new ReportingRoutingDataSource(oltp, reporting, transactions, registry);
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        // Reports are read-only, so with a replica configured they default to it rather than the primary
+        private String property(String name) {
+            String fallback = environment.getProperty("spring.datasource." + name);
+            if (environment.containsProperty("app.datasource.replica.url")) {
+                fallback = environment.getProperty("app.datasource.replica." + name, fallback);
+            }
+            return environment.getProperty("app.datasource.reporting." + name, fallback);
+        }
+
+        @Override
+        public void destroy() {
+            if (reporting != null) {
+                reporting.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.BackEnd.Master.GYM.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+// Sends the read-only transactions of the listed report methods (Class.method, e.g.
+// PaymentServiceImpl.revenue) to their own small pool, so a burst of long aggregate queries queues there
+// and never takes the connections of bookings and check-ins. Like ReplicaRoutingDataSource, it needs a
+// LazyConnectionDataSourceProxy in front to see the transaction before the connection is chosen.
+public class ReportingRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String OLTP = "oltp";
+    public static final String REPORTING = "reporting";
+
+    private final List<String> suffixes;
+    private final Counter reportingConnections;
+
+    public ReportingRoutingDataSource(DataSource oltp, DataSource reporting, List<String> transactions, MeterRegistry meterRegistry) {
+        this.suffixes = transactions.stream().map(String::trim).filter(t -> !t.isEmpty()).map(t -> "." + t).toList();
+        this.reportingConnections = Counter.builder("app.datasource.routed.connections").tag("target", REPORTING).register(meterRegistry);
+        setTargetDataSources(Map.of(OLTP, oltp, REPORTING, reporting));
+        setDefaultTargetDataSource(oltp);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return OLTP;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name != null && suffixes.stream().anyMatch(name::endsWith)) {
+            reportingConnections.increment();
+            return REPORTING;
+        }
+        return OLTP;
+    }
+}
@@ -0,0 +1,53 @@
+package com.BackEnd.Master.GYM.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// app.retention.policies[n].* - one entry per rule, e.g. purge rejected contact messages after 90 days.
+// Table and column names come from configuration only and are checked to be plain identifiers.
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.retention")
+public class RetentionProperties {
+    private boolean enabled = true;
+    // A run stops after this long, the rows left are handled by the next one
+    private long maxRunMinutes = 30;
+    private List<Policy> policies = new ArrayList<>();
+
+    public enum Action {
+        PURGE, ARCHIVE
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private String name;
+        private String table;
+        private String keyColumn = "id";
+        private String ageColumn;
+        private int olderThanDays;
+        private Action action = Action.PURGE;
+        // Defaults to "<table>_archive"
+        private String archiveTable;
+        // Extra SQL condition on the rows, e.g. status = 'REJECTED'
+        private String condition;
+        private int batchSize = 500;
+        // Pause between batches, leaves room to the live traffic
+        private long pauseMs = 200;
+
+        public String getArchiveTable() {
+            return archiveTable == null || archiveTable.isBlank() ? table + "_archive" : archiveTable;
+        }
+
+        public String getName() {
+            return name == null || name.isBlank() ? table + "-" + action.name().toLowerCase(Locale.ROOT) : name;
+        }
+    }
+}
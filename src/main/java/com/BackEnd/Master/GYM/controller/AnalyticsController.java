@@ -0,0 +1,28 @@
+package com.BackEnd.Master.GYM.controller;
+
+import com.BackEnd.Master.GYM.dto.OccupancyHeatmapDto;
+import com.BackEnd.Master.GYM.services.OccupancyAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/analytics")
+@CrossOrigin("*")
+public class AnalyticsController {
+    private final OccupancyAnalyticsService occupancyAnalyticsService;
+
+    // Weekday x hour totals over every week touching [from, to], served from weekly rollups
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyHeatmapDto> occupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(occupancyAnalyticsService.heatmap(from, to));
+    }
+}
@@ -20,7 +20,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.util.StringUtils;
@@ -31,6 +30,7 @@ import com.BackEnd.Master.GYM.entity.AppUsers;
 import com.BackEnd.Master.GYM.entity.Roles;
 import com.BackEnd.Master.GYM.Mapper.AppUserMapper;
 import com.BackEnd.Master.GYM.services.AppUserService;
+import com.BackEnd.Master.GYM.services.PasswordService;
 import com.BackEnd.Master.GYM.services.Impl.AppUserServiceImpl;
 import com.BackEnd.Master.GYM.repository.RolesRepo;
 
@@ -46,7 +46,7 @@ public class AppUserController {
     private final AppUserService appUserService;
     private final AppUserMapper appUserMapper;
     private final RolesRepo rolesRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordService passwordService;
     private static final Logger logger = LoggerFactory.getLogger(AppUserController.class);
 
     @Value("${app.upload.dir}")
@@ -154,7 +154,7 @@ public ResponseEntity<AppUserDto> insert(
             .orElseThrow(() -> new RuntimeException("Role not found"));
     
 
-    String hashedPassword = passwordEncoder.encode(motDePasse);
+    String hashedPassword = passwordService.hash(motDePasse);
 
     AppUsers user = new AppUsers();
     user.setUserName(userName);
@@ -226,7 +226,8 @@ public ResponseEntity<AppUserDto> update(
     currentUser.setEmail(email);
     currentUser.setTelephone(telephone);
     currentUser.setDescription(description);
-    currentUser.setMotDePasse(passwordEncoder.encode(motDePasse));
+    // The edit form sends the stored hash back when the password wasn't touched
+    currentUser.setMotDePasse(passwordService.hashIfChanged(motDePasse, currentUser.getMotDePasse()));
 
     // Lookup role
     Roles role = rolesRepo.findByRoleName(roleName)
@@ -300,7 +301,7 @@ public ResponseEntity<Map<String,String>> deleteById(@PathVariable Long id) {
         }
 
         // Hachage du mot de passe avec BCrypt
-        String hashedPassword = passwordEncoder.encode(pass.getMotDePasse());
+        String hashedPassword = passwordService.hashIfChanged(pass.getMotDePasse(), currentUser.getMotDePasse());
         currentUser.setMotDePasse(hashedPassword);
 
         AppUsers updatedUser = appUserService.update(currentUser);
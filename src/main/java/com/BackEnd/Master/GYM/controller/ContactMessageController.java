@@ -1,15 +1,17 @@
 package com.BackEnd.Master.GYM.controller;
 
+import com.BackEnd.Master.GYM.dto.BulkMessageChangeDto;
 import com.BackEnd.Master.GYM.dto.ContactMessageDto;
 import com.BackEnd.Master.GYM.entity.ContactMessage;
 import com.BackEnd.Master.GYM.Mapper.ContactMessageMapper;
 import com.BackEnd.Master.GYM.services.ContactMessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-// import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
@@ -52,11 +54,15 @@ public class ContactMessageController {
         return ResponseEntity.ok(contactMessageMapper.map(entities));
     }
 
+    // 202 without an id when the message was queued (async ingest mode)
     @PostMapping
     public ResponseEntity<ContactMessageDto> create(@RequestBody ContactMessageDto dto) {
         ContactMessage entity = contactMessageMapper.unMap(dto);
-        ContactMessage created = contactMessageService.create(entity);
-        return ResponseEntity.ok(contactMessageMapper.map(created));
+        ContactMessageService.Submission submission = contactMessageService.submit(entity);
+        if (submission.queued()) {
+            return ResponseEntity.accepted().body(contactMessageMapper.map(submission.message()));
+        }
+        return ResponseEntity.ok(contactMessageMapper.map(submission.message()));
     }
 
     @PatchMapping("/{id}/status")
@@ -68,6 +74,19 @@ public class ContactMessageController {
         return ResponseEntity.ok(contactMessageMapper.map(updated));
     }
 
+    // One UPDATE for the whole selection (ids, or currentStatus / query / createdBefore filters)
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/bulk/status")
+    public ResponseEntity<Map<String, Integer>> bulkUpdateStatus(@RequestBody BulkMessageChangeDto request) {
+        return ResponseEntity.ok(Map.of("updated", contactMessageService.bulkUpdateStatus(request)));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<Map<String, Integer>> bulkDelete(@RequestBody BulkMessageChangeDto request) {
+        return ResponseEntity.ok(Map.of("deleted", contactMessageService.bulkDelete(request)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteById(@PathVariable Long id) {
         contactMessageService.deleteById(id);
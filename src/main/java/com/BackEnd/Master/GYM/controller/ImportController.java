@@ -0,0 +1,59 @@
+package com.BackEnd.Master.GYM.controller;
+
+import com.BackEnd.Master.GYM.Mapper.ImportJobMapper;
+import com.BackEnd.Master.GYM.dto.ImportJobDto;
+import com.BackEnd.Master.GYM.dto.ImportRowErrorDto;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportType;
+import com.BackEnd.Master.GYM.services.ImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+// CSV imports run in the background: the POST returns 202 with the job, poll GET /imports/{id} for progress
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/imports")
+@CrossOrigin("*")
+@PreAuthorize("hasAuthority('ROLE_Admin')")
+public class ImportController {
+    private final ImportService importService;
+    private final ImportJobMapper importJobMapper;
+
+    @PostMapping(value = "/customers", consumes = { "multipart/form-data" })
+    public ResponseEntity<ImportJobDto> importCustomers(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobMapper.map(importService.start(ImportType.CUSTOMERS, file)));
+    }
+
+    @PostMapping(value = "/users", consumes = { "multipart/form-data" })
+    public ResponseEntity<ImportJobDto> importUsers(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobMapper.map(importService.start(ImportType.USERS, file)));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJobDto>> findRecent() {
+        return ResponseEntity.ok(importJobMapper.map(importService.findRecent()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDto> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(importJobMapper.map(importService.findById(id)));
+    }
+
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<ImportRowErrorDto>> findErrors(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(importJobMapper.mapErrors(importService.findErrors(id, page, size)));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ImportJobDto> resume(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobMapper.map(importService.resume(id)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.BackEnd.Master.GYM.controller;
+
+import com.BackEnd.Master.GYM.Mapper.PackMapper;
+import com.BackEnd.Master.GYM.dto.PackDto;
+import com.BackEnd.Master.GYM.entity.Pack;
+import com.BackEnd.Master.GYM.services.PackService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/packs")
+@CrossOrigin("*")
+public class PackController {
+    private final PackService packService;
+    private final PackMapper packMapper;
+
+    @GetMapping
+    public ResponseEntity<List<PackDto>> findAll(@RequestParam(defaultValue = "false") boolean activeOnly) {
+        List<Pack> entities = activeOnly ? packService.findActive() : packService.findAll();
+        return ResponseEntity.ok(packMapper.map(entities));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PackDto> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(packMapper.map(packService.findById(id)));
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_Admin')")
+    @PostMapping
+    public ResponseEntity<PackDto> create(@RequestBody PackDto dto) {
+        Pack saved = packService.create(packMapper.unMap(dto));
+        return ResponseEntity.ok(packMapper.map(saved));
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_Admin')")
+    @PutMapping("/{id}")
+    public ResponseEntity<PackDto> update(@PathVariable Long id, @RequestBody PackDto dto) {
+        Pack updated = packService.update(id, packMapper.unMap(dto));
+        return ResponseEntity.ok(packMapper.map(updated));
+    }
+}
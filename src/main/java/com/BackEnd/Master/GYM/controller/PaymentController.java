@@ -0,0 +1,50 @@
+package com.BackEnd.Master.GYM.controller;
+
+import com.BackEnd.Master.GYM.Mapper.PaymentMapper;
+import com.BackEnd.Master.GYM.dto.PaymentDto;
+import com.BackEnd.Master.GYM.dto.RevenueRollupDto;
+import com.BackEnd.Master.GYM.entity.Payment;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Dimension;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Granularity;
+import com.BackEnd.Master.GYM.services.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/payments")
+@CrossOrigin("*")
+public class PaymentController {
+    private final PaymentService paymentService;
+    private final PaymentMapper paymentMapper;
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping
+    public ResponseEntity<PaymentDto> record(@RequestBody PaymentDto dto) {
+        Payment saved = paymentService.record(dto);
+        return ResponseEntity.ok(paymentMapper.map(saved));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<List<PaymentDto>> findByCustomer(@PathVariable Long customerId) {
+        return ResponseEntity.ok(paymentMapper.map(paymentService.findByCustomer(customerId)));
+    }
+
+    // Served from revenue_rollups only, the ledger is never scanned
+    @PreAuthorize("hasAuthority('ROLE_Admin')")
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueRollupDto>> revenue(
+            @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @RequestParam(defaultValue = "ALL") Dimension dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(paymentService.revenue(granularity, dimension, from, to));
+    }
+}
@@ -1,18 +1,36 @@
 package com.BackEnd.Master.GYM.controller;
 
+import com.BackEnd.Master.GYM.dto.BulkSessionChangeDto;
+import com.BackEnd.Master.GYM.dto.FreeSlotDto;
+import com.BackEnd.Master.GYM.dto.SessionBookingDto;
+import com.BackEnd.Master.GYM.dto.SessionRecurrenceDto;
+import com.BackEnd.Master.GYM.dto.SessionStatsDto;
+import com.BackEnd.Master.GYM.dto.SessionWaitlistEntryDto;
 import com.BackEnd.Master.GYM.dto.TrainingSessionDto;
+import com.BackEnd.Master.GYM.entity.SessionBooking;
+import com.BackEnd.Master.GYM.entity.SessionWaitlistEntry;
 import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.Mapper.SessionBookingMapper;
+import com.BackEnd.Master.GYM.Mapper.SessionWaitlistMapper;
 import com.BackEnd.Master.GYM.Mapper.TrainingSessionMapper;
+import com.BackEnd.Master.GYM.security.MemberAccess;
+import com.BackEnd.Master.GYM.services.SessionBookingService;
+import com.BackEnd.Master.GYM.services.SessionStatusStreamService;
+import com.BackEnd.Master.GYM.services.SessionWaitlistService;
 import com.BackEnd.Master.GYM.services.TrainingSessionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-// import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
@@ -21,6 +39,11 @@ import java.util.List;
 public class TrainingSessionController {
     private final TrainingSessionService trainingSessionService;
     private final TrainingSessionMapper trainingSessionMapper;
+    private final SessionBookingService sessionBookingService;
+    private final SessionBookingMapper sessionBookingMapper;
+    private final SessionWaitlistService sessionWaitlistService;
+    private final SessionWaitlistMapper sessionWaitlistMapper;
+    private final SessionStatusStreamService sessionStatusStreamService;
 
 
     @GetMapping("/{id}")
@@ -53,11 +76,39 @@ public class TrainingSessionController {
     @GetMapping("/count/active")
     public long getActiveSessionsCount(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalTime date2
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime date2
     ) {
         return trainingSessionService.countActiveSessions(date, date2);
     }
 
+    // Gaps that fit a session of "duration" minutes, on "date" or from "date" to "to"
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlotDto>> findFreeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam int duration) {
+        return ResponseEntity.ok(trainingSessionService.findFreeSlots(date, to != null ? to : date, duration));
+    }
+
+    // Single-day (date) or range (start/end) statistics, relative to "at" (defaults to now)
+    @GetMapping("/stats")
+    public ResponseEntity<SessionStatsDto> stats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        LocalDate startDate = start != null ? start : day;
+        LocalDate endDate = end != null ? end : (start != null ? start : day);
+        return ResponseEntity.ok(trainingSessionService.stats(startDate, endDate, at != null ? at : LocalDateTime.now()));
+    }
+
+
+    // Pushes "schedule", "transition" and "counts" events instead of polling the count endpoints
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return sessionStatusStreamService.subscribe();
+    }
 
     @PostMapping
     public ResponseEntity<TrainingSessionDto> create(@RequestBody TrainingSessionDto dto) {
@@ -66,6 +117,25 @@ public class TrainingSessionController {
         return ResponseEntity.ok(trainingSessionMapper.map(created));
     }
 
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/recurring")
+    public ResponseEntity<Map<String, Integer>> createRecurring(@RequestBody SessionRecurrenceDto rule) {
+        int created = trainingSessionService.createRecurring(rule);
+        return ResponseEntity.ok(Map.of("created", created));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/bulk/reschedule")
+    public ResponseEntity<Map<String, Integer>> bulkReschedule(@RequestBody BulkSessionChangeDto request) {
+        return ResponseEntity.ok(Map.of("updated", trainingSessionService.bulkReschedule(request)));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<Map<String, Integer>> bulkCancel(@RequestBody BulkSessionChangeDto request) {
+        return ResponseEntity.ok(Map.of("deleted", trainingSessionService.bulkCancel(request)));
+    }
+
     @PutMapping
     public ResponseEntity<TrainingSessionDto> update(@RequestBody TrainingSessionDto dto) {
         TrainingSession current = trainingSessionService.findById(dto.getId());
@@ -80,4 +150,63 @@ public class TrainingSessionController {
         trainingSessionService.delete(id);
         return ResponseEntity.ok().build();
     }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/{id}/bookings")
+    public ResponseEntity<List<SessionBookingDto>> findBookings(@PathVariable Long id) {
+        List<SessionBooking> bookings = sessionBookingService.findConfirmedBySession(id);
+        return ResponseEntity.ok(sessionBookingMapper.map(bookings));
+    }
+
+    // Staff book for any member, a member for themselves with their check-in token
+    @PreAuthorize("@memberAccess.allows(authentication, #customerId, #checkInToken)")
+    @PostMapping("/{id}/bookings")
+    public ResponseEntity<SessionBookingDto> book(@PathVariable Long id, @RequestParam Long customerId,
+            @RequestHeader(name = MemberAccess.TOKEN_HEADER, required = false) String checkInToken) {
+        SessionBooking booking = sessionBookingService.book(id, customerId);
+        return ResponseEntity.ok(sessionBookingMapper.map(booking));
+    }
+
+    @PreAuthorize("@memberAccess.allowsBooking(authentication, #bookingId, #checkInToken)")
+    @DeleteMapping("/{id}/bookings/{bookingId}")
+    public ResponseEntity<SessionBookingDto> cancelBooking(@PathVariable Long id, @PathVariable Long bookingId,
+            @RequestHeader(name = MemberAccess.TOKEN_HEADER, required = false) String checkInToken) {
+        SessionBooking booking = sessionBookingService.cancel(id, bookingId);
+        return ResponseEntity.ok(sessionBookingMapper.map(booking));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/{id}/waitlist")
+    public ResponseEntity<List<SessionWaitlistEntryDto>> findWaitlist(@PathVariable Long id) {
+        List<SessionWaitlistEntryDto> dtos = sessionWaitlistMapper.map(sessionWaitlistService.findBySession(id));
+        for (int i = 0; i < dtos.size(); i++) {
+            dtos.get(i).setPosition(i + 1);
+        }
+        return ResponseEntity.ok(dtos);
+    }
+
+    @PreAuthorize("@memberAccess.allows(authentication, #customerId, #checkInToken)")
+    @PostMapping("/{id}/waitlist")
+    public ResponseEntity<SessionWaitlistEntryDto> joinWaitlist(@PathVariable Long id, @RequestParam Long customerId,
+            @RequestHeader(name = MemberAccess.TOKEN_HEADER, required = false) String checkInToken) {
+        SessionWaitlistEntry entry = sessionWaitlistService.join(id, customerId);
+        SessionWaitlistEntryDto dto = sessionWaitlistMapper.map(entry);
+        dto.setPosition(sessionWaitlistService.positionOf(id, customerId));
+        return ResponseEntity.ok(dto);
+    }
+
+    @PreAuthorize("@memberAccess.allows(authentication, #customerId, #checkInToken)")
+    @GetMapping("/{id}/waitlist/position")
+    public ResponseEntity<Integer> waitlistPosition(@PathVariable Long id, @RequestParam Long customerId,
+            @RequestHeader(name = MemberAccess.TOKEN_HEADER, required = false) String checkInToken) {
+        return ResponseEntity.ok(sessionWaitlistService.positionOf(id, customerId));
+    }
+
+    @PreAuthorize("@memberAccess.allows(authentication, #customerId, #checkInToken)")
+    @DeleteMapping("/{id}/waitlist")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long id, @RequestParam Long customerId,
+            @RequestHeader(name = MemberAccess.TOKEN_HEADER, required = false) String checkInToken) {
+        sessionWaitlistService.leave(id, customerId);
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
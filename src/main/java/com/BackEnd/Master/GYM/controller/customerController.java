@@ -29,10 +29,17 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.util.StringUtils;
 
 import com.BackEnd.Master.GYM.Exceptions.ResourceNotFoundException;
+import com.BackEnd.Master.GYM.dto.CheckInDto;
+import com.BackEnd.Master.GYM.dto.SegmentQueryDto;
+import com.BackEnd.Master.GYM.dto.SegmentResultDto;
 import com.BackEnd.Master.GYM.dto.customerDto;
+import com.BackEnd.Master.GYM.entity.CheckIn;
 import com.BackEnd.Master.GYM.entity.AppUsers;
 import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.Mapper.CheckInMapper;
 import com.BackEnd.Master.GYM.Mapper.customerMapper;
+import com.BackEnd.Master.GYM.security.CheckInTokens;
+import com.BackEnd.Master.GYM.services.AttendanceService;
 import com.BackEnd.Master.GYM.services.AppUserService;
 import com.BackEnd.Master.GYM.services.customerService;
 
@@ -49,6 +56,8 @@ public class customerController {
     private final customerService custService;
     private final customerMapper custMapper;
     private final AppUserService userRepo;
+    private final AttendanceService attendanceService;
+    private final CheckInMapper checkInMapper;
 
     @PreAuthorize("hasAuthority('ROLE_Admin')")
     @GetMapping("/{id}")
@@ -73,6 +82,72 @@ public class customerController {
         return ResponseEntity.ok(entities);
     }
 
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/expiring")
+    public ResponseEntity<List<customerDto>> findExpiring(@RequestParam(defaultValue = "7") int days) {
+        return ResponseEntity.ok(custService.findExpiring(days));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/expired")
+    public ResponseEntity<List<customerDto>> findExpired(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(custService.findExpired(days));
+    }
+
+    // AND/OR/NOT of pack, coach and membership criteria, evaluated on the in-memory segment index
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/segments")
+    public ResponseEntity<SegmentResultDto> findSegment(@RequestBody SegmentQueryDto query) {
+        return ResponseEntity.ok(custService.findSegment(query));
+    }
+
+    // 201 once stored, 202 while the check-in waits in the write-behind queue
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/{id}/check-in")
+    public ResponseEntity<Map<String, Object>> checkIn(@PathVariable Long id,
+            @RequestParam(defaultValue = "DESK") String source) {
+        CheckIn checkIn = new CheckIn();
+        checkIn.setCustomerId(id);
+        checkIn.setSource(source);
+        boolean stored = attendanceService.checkIn(checkIn);
+        return ResponseEntity.status(stored ? HttpStatus.CREATED : HttpStatus.ACCEPTED).body(Map.of(
+                "message", "Check-in recorded",
+                "customerId", id,
+                "checkedInAt", checkIn.getCheckedInAt(),
+                "occupancy", attendanceService.currentOccupancy()));
+    }
+
+    // Token printed on the member card / app QR code, valid until expiresAt
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/{id}/check-in-token")
+    public ResponseEntity<CheckInTokens.Token> checkInToken(@PathVariable Long id) {
+        return ResponseEntity.ok(attendanceService.issueToken(id));
+    }
+
+    // Turnstile path: the signed token identifies the member, no customer lookup
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @PostMapping("/check-in")
+    public ResponseEntity<Map<String, Object>> checkInWithToken(@RequestParam String token,
+            @RequestParam(defaultValue = "TURNSTILE") String source) {
+        CheckIn checkIn = attendanceService.checkInWithToken(token, source);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "message", "Check-in recorded",
+                "customerId", checkIn.getCustomerId(),
+                "checkedInAt", checkIn.getCheckedInAt()));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/{id}/check-ins")
+    public ResponseEntity<List<CheckInDto>> findCheckIns(@PathVariable Long id) {
+        return ResponseEntity.ok(checkInMapper.map(attendanceService.findByCustomer(id)));
+    }
+
+    @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
+    @GetMapping("/occupancy")
+    public ResponseEntity<Map<String, Long>> occupancy() {
+        return ResponseEntity.ok(Map.of("current", attendanceService.currentOccupancy()));
+    }
+
     @PreAuthorize("hasAnyAuthority('ROLE_Admin', 'ROLE_Coach')")
     @GetMapping("/search")
     public ResponseEntity<List<customerDto>> searchCustomers(@RequestParam String query) {
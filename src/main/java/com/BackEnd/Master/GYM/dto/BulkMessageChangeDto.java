@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class BulkMessageChangeDto {
+    // Selection: explicit ids, or every message matching all the filters given
+    private List<Long> ids;
+    private String currentStatus;
+    // Contained in the name, email or message, case-insensitive
+    private String query;
+    private LocalDate createdBefore;
+
+    // Target of a bulk status change
+    private String status;
+}
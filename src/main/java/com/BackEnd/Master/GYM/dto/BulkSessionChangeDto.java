@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class BulkSessionChangeDto {
+    // Selection: explicit ids, or every session between startDate and endDate
+    private List<Long> ids;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // Reschedule: move to targetDate, or shift by offsetDays / offsetMinutes
+    private LocalDate targetDate;
+    private Integer offsetDays;
+    private Integer offsetMinutes;
+}
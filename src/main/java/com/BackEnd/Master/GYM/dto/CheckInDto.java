@@ -0,0 +1,13 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CheckInDto {
+    private Long id;
+    private Long customerId;
+    private LocalDateTime checkedInAt;
+    private String source;
+}
@@ -12,4 +12,6 @@ public class ContactMessageDto {
     private String message;
     private String status;
     private LocalDate createdAt;
+    // Repeats of this message that were dropped
+    private int duplicateCount;
 }
\ No newline at end of file
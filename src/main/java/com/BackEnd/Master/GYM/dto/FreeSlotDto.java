@@ -0,0 +1,17 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotDto {
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
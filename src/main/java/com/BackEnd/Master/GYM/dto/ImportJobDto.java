@@ -0,0 +1,22 @@
+package com.BackEnd.Master.GYM.dto;
+
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportStatus;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ImportJobDto {
+    private Long id;
+    private ImportType type;
+    private ImportStatus status;
+    private String fileName;
+    private long processedRows;
+    private long insertedRows;
+    private long failedRows;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
@@ -0,0 +1,9 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportRowErrorDto {
+    private long rowNumber;
+    private String message;
+}
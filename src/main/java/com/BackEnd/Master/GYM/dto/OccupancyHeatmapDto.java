@@ -0,0 +1,18 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class OccupancyHeatmapDto {
+    // Mondays of the first and last week (inclusive)
+    private LocalDate fromWeek;
+    private LocalDate toWeek;
+    private int weeks;
+
+    // [day of week, Monday first][hour]
+    private int[][] checkIns;
+    // Confirmed bookings, at the start hour of their session
+    private int[][] bookings;
+}
@@ -0,0 +1,14 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PackDto {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer durationDays;
+    private Boolean active;
+}
@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class PaymentDto {
+    private Long id;
+    private Long customerId;
+    private Long packId;
+    private Long coachId;
+    // Defaults to the pack price when omitted
+    private BigDecimal amount;
+    private LocalDateTime paidAt;
+    private String method;
+    private String note;
+}
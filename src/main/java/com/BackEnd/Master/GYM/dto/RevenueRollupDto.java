@@ -0,0 +1,20 @@
+package com.BackEnd.Master.GYM.dto;
+
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Dimension;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Granularity;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class RevenueRollupDto {
+    private Granularity granularity;
+    private LocalDate periodStart;
+    private Dimension dimension;
+    private Long dimensionId;
+    // Pack name or coach userName
+    private String dimensionName;
+    private BigDecimal amount;
+    private Long paymentCount;
+}
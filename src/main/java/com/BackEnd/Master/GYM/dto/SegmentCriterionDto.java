@@ -0,0 +1,20 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SegmentCriterionDto {
+    private Field field;
+    // Matches when any of the values matches: pack names, coach ids, statuses, or a single day count
+    private List<String> values;
+
+    public enum Field {
+        PACK, COACH, STATUS, EXPIRING_WITHIN_DAYS
+    }
+
+    public enum Status {
+        ACTIVE, EXPIRED, UPCOMING, NO_MEMBERSHIP
+    }
+}
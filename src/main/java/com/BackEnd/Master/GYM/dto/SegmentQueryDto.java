@@ -0,0 +1,18 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SegmentQueryDto {
+    // Every criterion must match
+    private List<SegmentCriterionDto> all;
+    // At least one criterion must match, ignored when empty
+    private List<SegmentCriterionDto> any;
+    // No criterion may match
+    private List<SegmentCriterionDto> none;
+
+    private Integer page;
+    private Integer size;
+}
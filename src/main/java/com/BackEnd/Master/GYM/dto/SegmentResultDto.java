@@ -0,0 +1,14 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SegmentResultDto {
+    private long total;
+    private int page;
+    private int size;
+    // Only the requested page, ordered by id
+    private List<customerDto> content;
+}
@@ -0,0 +1,16 @@
+package com.BackEnd.Master.GYM.dto;
+
+import com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SessionBookingDto {
+    private Long id;
+    private Long sessionId;
+    private Long customerId;
+    private BookingStatus status;
+    private LocalDateTime bookedAt;
+    private LocalDateTime cancelledAt;
+}
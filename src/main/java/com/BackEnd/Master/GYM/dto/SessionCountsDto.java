@@ -0,0 +1,18 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionCountsDto {
+    private LocalDate date;
+    private long total;
+    private long active;
+    private long upcoming;
+    private long completed;
+}
@@ -0,0 +1,31 @@
+package com.BackEnd.Master.GYM.dto;
+
+import com.BackEnd.Master.GYM.entity.TrainingSession.SessionType;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class SessionRecurrenceDto {
+    private String sportName;
+    private SessionType sessionType;
+    private Integer maxParticipants;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    // Recurrence window (inclusive)
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Frequency frequency;
+    private List<DayOfWeek> daysOfWeek;
+
+    // Dates skipped by the rule (holidays, closures...)
+    private List<LocalDate> exceptions;
+
+    public enum Frequency {
+        WEEKLY, BIWEEKLY
+    }
+}
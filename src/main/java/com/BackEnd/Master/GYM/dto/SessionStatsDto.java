@@ -0,0 +1,34 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class SessionStatsDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Instant the active/upcoming/completed split is computed against
+    private LocalDateTime at;
+    private StatusCounts totals = new StatusCounts();
+    private Map<String, StatusCounts> bySport = new LinkedHashMap<>();
+    private Map<String, StatusCounts> bySessionType = new LinkedHashMap<>();
+
+    @Data
+    public static class StatusCounts {
+        private long total;
+        private long active;
+        private long upcoming;
+        private long completed;
+
+        public void add(long total, long active, long upcoming, long completed) {
+            this.total += total;
+            this.active += active;
+            this.upcoming += upcoming;
+            this.completed += completed;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionStatusDto {
+    private Long sessionId;
+    private String sportName;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Status status;
+
+    public enum Status {
+        UPCOMING, ACTIVE, COMPLETED
+    }
+}
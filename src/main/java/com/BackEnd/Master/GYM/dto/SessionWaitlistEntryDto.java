@@ -0,0 +1,14 @@
+package com.BackEnd.Master.GYM.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SessionWaitlistEntryDto {
+    private Long id;
+    private Long sessionId;
+    private Long customerId;
+    private Integer position;
+    private LocalDateTime joinedAt;
+}
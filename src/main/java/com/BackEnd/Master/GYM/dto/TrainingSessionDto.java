@@ -14,5 +14,6 @@ public class TrainingSessionDto {
     private LocalTime endTime;
     private SessionType sessionType;
     private Integer maxParticipants;
+    private Integer bookedCount;
     private String sportName;
 }
\ No newline at end of file
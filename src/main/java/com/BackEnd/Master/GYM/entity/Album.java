@@ -13,11 +13,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "albums")
+@Table(name = "albums", indexes = @Index(name = "idx_albums_name", columnList = "name"))
 public class Album {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
 
     private String name;
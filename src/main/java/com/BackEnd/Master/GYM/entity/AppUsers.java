@@ -3,11 +3,11 @@ package com.BackEnd.Master.GYM.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -18,11 +18,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "App_user")
+// userName is the login lookup, unique like the import already enforces
+@Table(name = "App_user", uniqueConstraints = @UniqueConstraint(name = "uk_app_user_user_name", columnNames = "userName"),
+        indexes = @Index(name = "idx_app_user_role", columnList = "role_id"))
 public class AppUsers {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     private String userName;
     private String email;
@@ -0,0 +1,35 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Attendance row, written in batches by the check-in writer. customerId stays a plain column:
+// an FK check per row would slow the burst inserts, and attendance history outlives the member.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "check_ins", indexes = {
+        @Index(name = "idx_check_ins_customer", columnList = "customerId, checkedInAt"),
+        @Index(name = "idx_check_ins_time", columnList = "checkedInAt")
+})
+public class CheckIn {
+    @Id
+    @PooledId
+    private Long id;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime checkedInAt;
+
+    // TURNSTILE, DESK...
+    private String source;
+}
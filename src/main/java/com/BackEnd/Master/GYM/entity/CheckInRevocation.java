@@ -0,0 +1,24 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Check-in tokens of this customer issued before revokedAt are rejected
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "check_in_revocations", indexes = @Index(name = "idx_check_in_revocations_revoked", columnList = "revokedAt"))
+public class CheckInRevocation {
+    @Id
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
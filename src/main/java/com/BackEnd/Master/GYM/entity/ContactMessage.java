@@ -5,11 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 
 @Entity
-@Table(name = "contact_messages")
+@Table(name = "contact_messages", indexes = {
+        @Index(name = "idx_contact_messages_content_hash", columnList = "contentHash"),
+        @Index(name = "idx_contact_messages_status_created", columnList = "status, createdAt"),
+        @Index(name = "idx_contact_messages_created", columnList = "createdAt")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +22,7 @@ import java.util.Date;
 public class ContactMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
 
     @Column(nullable = false)
@@ -36,4 +41,13 @@ public class ContactMessage {
     @Column(updatable = false)
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt = new Date();
+
+    // Normalized (email, message) hash and message SimHash, set by the duplicate filter
+    private Long contentHash;
+    private Long simHash;
+
+    // Copies of this message dropped by the duplicate filter
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int duplicateCount;
 }
\ No newline at end of file
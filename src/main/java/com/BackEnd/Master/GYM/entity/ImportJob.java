@@ -0,0 +1,53 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "import_jobs", indexes = @Index(name = "idx_import_jobs_status", columnList = "status"))
+public class ImportJob {
+    @Id
+    @PooledId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportStatus status;
+
+    private String fileName;
+    // Uploaded copy the job reads from, kept until the job completes so it can be resumed
+    private String storedPath;
+
+    // Checkpoint: CSV records consumed, committed together with the rows they produced
+    private long processedRows;
+    private long insertedRows;
+    private long failedRows;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    public enum ImportType {
+        CUSTOMERS, USERS
+    }
+
+    public enum ImportStatus {
+        PENDING, RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+}
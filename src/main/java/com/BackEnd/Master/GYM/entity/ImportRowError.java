@@ -0,0 +1,32 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "import_row_errors", indexes = @Index(name = "idx_import_row_errors_job", columnList = "job_id, rowNumber"))
+public class ImportRowError {
+    @Id
+    @PooledId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "job_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ImportJob job;
+
+    // 1-based data record number, the header is not counted
+    private long rowNumber;
+
+    @Column(length = 500)
+    private String message;
+}
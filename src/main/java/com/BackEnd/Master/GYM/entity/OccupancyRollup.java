@@ -0,0 +1,40 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// One row per metric and week: 168 hour-of-week counters (Monday 00h first), packed as big-endian ints
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "occupancy_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_occupancy_rollup_week",
+        columnNames = { "metric", "week_start" }))
+public class OccupancyRollup {
+    public static final int HOURS_PER_WEEK = 7 * 24;
+
+    @Id
+    @PooledId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Metric metric;
+
+    // Monday of the week
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(nullable = false, length = HOURS_PER_WEEK * 4)
+    private byte[] counts;
+
+    public enum Metric {
+        CHECK_INS, BOOKINGS
+    }
+}
@@ -0,0 +1,29 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "packs", uniqueConstraints = @UniqueConstraint(name = "uk_packs_name", columnNames = "name"))
+public class Pack {
+    @Id
+    @PooledId
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // List price in minor units, null when the pack has no fixed price
+    private Long priceMinor;
+    private Integer durationDays;
+
+    @Column(nullable = false)
+    private boolean active = true;
+}
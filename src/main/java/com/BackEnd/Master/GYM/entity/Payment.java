@@ -0,0 +1,44 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Ledger row: payments are only ever appended, corrections are recorded as negative payments
+@Entity
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payments", indexes = @Index(name = "idx_payments_customer", columnList = "customer_id, paidAt"))
+public class Payment {
+    @Id
+    @PooledId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private customer customer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pack_id")
+    private Pack pack;
+
+    // customer.user at payment time, so reassigning a member later doesn't rewrite past revenue
+    private Long coachId;
+
+    @Column(nullable = false)
+    private Long amountMinor;
+
+    @Column(nullable = false)
+    private LocalDateTime paidAt;
+
+    private String method;
+    private String note;
+}
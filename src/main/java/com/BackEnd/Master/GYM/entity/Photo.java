@@ -13,10 +13,10 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "photos")
+@Table(name = "photos", indexes = @Index(name = "idx_photos_album", columnList = "album_id"))
 public class Photo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     private String name;
     private String imageName;  // Store only the filename
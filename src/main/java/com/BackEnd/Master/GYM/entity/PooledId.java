@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Id drawn from the id_generators table through Hibernate's pooled optimizer, one row per table.
+// Unlike IDENTITY the id is known before the INSERT, which is what lets Hibernate batch inserts.
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface PooledId {
+
+    // Row in id_generators, defaults to the lower-cased table name
+    String segment() default "";
+}
@@ -0,0 +1,39 @@
+package com.BackEnd.Master.GYM.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Locale;
+import java.util.Properties;
+
+// Table hi/lo for @PooledId. The block size comes from the app.id.allocation-size Hibernate setting
+// (spring.jpa.properties.app.id.allocation-size), so every entity shares one tunable value.
+public class PooledTableIdGenerator extends TableGenerator {
+    public static final String ALLOCATION_SIZE_SETTING = "app.id.allocation-size";
+    private static final int DEFAULT_ALLOCATION_SIZE = 100;
+
+    private final String segment;
+
+    public PooledTableIdGenerator(PooledId config) {
+        this.segment = config.segment();
+    }
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(ALLOCATION_SIZE_SETTING, DEFAULT_ALLOCATION_SIZE);
+        String table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        params.setProperty(TABLE_PARAM, "id_generators");
+        params.setProperty(SEGMENT_COLUMN_PARAM, "sequence_name");
+        params.setProperty(VALUE_COLUMN_PARAM, "next_val");
+        params.setProperty(SEGMENT_VALUE_PARAM, segment.isEmpty() ? table.toLowerCase(Locale.ROOT) : segment);
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OPT_PARAM, "pooled");
+        super.configure(type, params, serviceRegistry);
+    }
+}
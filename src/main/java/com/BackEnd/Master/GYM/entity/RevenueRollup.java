@@ -0,0 +1,52 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// Running revenue totals per period and dimension, incremented in the same transaction as each payment
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revenue_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_revenue_rollup_bucket",
+        columnNames = { "granularity", "period_start", "dimension", "dimension_id" }))
+public class RevenueRollup {
+    @Id
+    @PooledId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Granularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Dimension dimension;
+
+    // Pack or coach id, 0 for ALL
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Column(nullable = false)
+    private Long amountMinor;
+
+    @Column(nullable = false)
+    private Long paymentCount;
+
+    public enum Granularity {
+        DAY, MONTH
+    }
+
+    public enum Dimension {
+        ALL, PACK, COACH
+    }
+}
@@ -0,0 +1,59 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "session_bookings", uniqueConstraints = @UniqueConstraint(name = "uk_session_bookings_active",
+        columnNames = { "session_id", "active_customer_id" }), indexes = {
+        @Index(name = "idx_session_bookings_session", columnList = "session_id, status, customer_id"),
+        @Index(name = "idx_session_bookings_customer", columnList = "customer_id")
+})
+public class SessionBooking {
+    @Id
+    @PooledId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "session_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TrainingSession session;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private customer customer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    private LocalDateTime bookedAt;
+    private LocalDateTime cancelledAt;
+
+    // The customer id while CONFIRMED, null once cancelled: with uk_session_bookings_active this allows one
+    // confirmed booking per member and session (MySQL has no partial unique index)
+    @Column(name = "active_customer_id")
+    private Long activeCustomerId;
+
+    @PrePersist
+    @PreUpdate
+    void syncActiveCustomerId() {
+        activeCustomerId = status == BookingStatus.CONFIRMED && customer != null ? customer.getId() : null;
+    }
+
+    public enum BookingStatus {
+        CONFIRMED, CANCELLED
+    }
+}
@@ -0,0 +1,42 @@
+package com.BackEnd.Master.GYM.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "session_waitlist", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_waitlist_session_position", columnNames = { "session_id", "position" }),
+        @UniqueConstraint(name = "uk_waitlist_session_customer", columnNames = { "session_id", "customer_id" })
+})
+public class SessionWaitlistEntry {
+    @Id
+    @PooledId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "session_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TrainingSession session;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private customer customer;
+
+    // Per-session sequence number, gaps are allowed
+    @Column(nullable = false)
+    private Long position;
+
+    private LocalDateTime joinedAt;
+}
@@ -14,10 +14,10 @@ import java.time.LocalTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "training_sessions")
+@Table(name = "training_sessions", indexes = @Index(name = "idx_training_sessions_date", columnList = "date, startTime"))
 public class TrainingSession {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     
     private LocalDate date;
@@ -30,6 +30,10 @@ public class TrainingSession {
     private SessionType sessionType;
     
     private Integer maxParticipants;
+
+    // Only changed by the conditional updates in TrainingSessionRepo, never by an entity save
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer bookedCount = 0;
     
     public enum SessionType {
         INDIVIDUAL, GROUP, WORKSHOP
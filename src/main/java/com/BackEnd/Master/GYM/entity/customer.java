@@ -4,8 +4,7 @@ import java.time.LocalDate;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,12 +18,16 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "Customers")
+@Table(name = "Customers", indexes = {
+        @Index(name = "idx_customers_date_fin", columnList = "dateFin, id"),
+        @Index(name = "idx_customers_user", columnList = "user_id"),
+        @Index(name = "idx_customers_user_name", columnList = "userName")
+})
 public class customer {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     private String userName;
     private String email;
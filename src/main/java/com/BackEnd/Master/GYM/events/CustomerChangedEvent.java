@@ -0,0 +1,44 @@
+package com.BackEnd.Master.GYM.events;
+
+import com.BackEnd.Master.GYM.entity.customer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+// Published by customerService writes; saved is null for a delete.
+// Updates also carry the membership window as it was before the change.
+@Getter
+@RequiredArgsConstructor
+public class CustomerChangedEvent {
+    private final Long customerId;
+    private final customer saved;
+    private final LocalDate previousDateDebut;
+    private final LocalDate previousDateFin;
+
+    public static CustomerChangedEvent saved(customer entity) {
+        return new CustomerChangedEvent(entity.getId(), entity, null, null);
+    }
+
+    public static CustomerChangedEvent updated(customer entity, LocalDate previousDateDebut, LocalDate previousDateFin) {
+        return new CustomerChangedEvent(entity.getId(), entity, previousDateDebut, previousDateFin);
+    }
+
+    public static CustomerChangedEvent deleted(Long id) {
+        return new CustomerChangedEvent(id, null, null, null);
+    }
+
+    public boolean isDeleted() {
+        return saved == null;
+    }
+
+    // True when some day of the previous membership window is no longer covered
+    public boolean isMembershipShortened() {
+        if (saved == null || previousDateDebut == null || previousDateFin == null) {
+            return false;
+        }
+        LocalDate debut = saved.getDateDebut();
+        LocalDate fin = saved.getDateFin();
+        return debut == null || fin == null || debut.isAfter(previousDateDebut) || fin.isBefore(previousDateFin);
+    }
+}
@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+// Published by RetentionJob inside each batch transaction, for in-memory views over the table
+@Getter
+@RequiredArgsConstructor
+public class RowsRetiredEvent {
+    private final String table;
+    private final List<Long> ids;
+    private final boolean archived;
+
+    public boolean isFor(String tableName) {
+        return table.equalsIgnoreCase(tableName);
+    }
+}
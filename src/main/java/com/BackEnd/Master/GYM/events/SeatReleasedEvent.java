@@ -0,0 +1,16 @@
+package com.BackEnd.Master.GYM.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Published when a confirmed booking is cancelled, inside the cancelling transaction
+@Getter
+@RequiredArgsConstructor
+public class SeatReleasedEvent {
+    private final Long sessionId;
+    private volatile boolean seatTaken;
+
+    public void markSeatTaken() {
+        this.seatTaken = true;
+    }
+}
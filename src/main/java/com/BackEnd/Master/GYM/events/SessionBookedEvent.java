@@ -0,0 +1,11 @@
+package com.BackEnd.Master.GYM.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Published when a booking is confirmed directly (waitlist promotions reuse the seat of a cancellation)
+@Getter
+@RequiredArgsConstructor
+public class SessionBookedEvent {
+    private final Long sessionId;
+}
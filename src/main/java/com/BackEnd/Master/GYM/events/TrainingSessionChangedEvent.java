@@ -0,0 +1,35 @@
+package com.BackEnd.Master.GYM.events;
+
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Published by TrainingSessionService writes so in-memory views (live status, free slots...) stay in sync
+@Getter
+@RequiredArgsConstructor
+public class TrainingSessionChangedEvent {
+    private final List<TrainingSession> saved;
+    private final List<Long> deletedIds;
+
+    public static TrainingSessionChangedEvent saved(List<TrainingSession> sessions) {
+        return new TrainingSessionChangedEvent(sessions, List.of());
+    }
+
+    public static TrainingSessionChangedEvent deleted(List<Long> ids) {
+        return new TrainingSessionChangedEvent(List.of(), ids);
+    }
+
+    public Set<LocalDate> getAffectedDates() {
+        return saved.stream().map(TrainingSession::getDate).collect(Collectors.toSet());
+    }
+
+    public boolean touches(Set<Long> sessionIds) {
+        return deletedIds.stream().anyMatch(sessionIds::contains)
+                || saved.stream().anyMatch(s -> s.getId() != null && sessionIds.contains(s.getId()));
+    }
+}
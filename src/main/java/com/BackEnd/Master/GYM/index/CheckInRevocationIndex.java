@@ -0,0 +1,89 @@
+package com.BackEnd.Master.GYM.index;
+
+import com.BackEnd.Master.GYM.entity.CheckInRevocation;
+import com.BackEnd.Master.GYM.events.CustomerChangedEvent;
+import com.BackEnd.Master.GYM.repository.CheckInRevocationRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cancelled or shortened memberships whose outstanding check-in tokens must be refused.
+// A bitmap over customer ids answers "never revoked" (nearly every scan) with one array read;
+// only revoked customers fall through to the revokedAt map. Revocations older than the token
+// TTL are pruned, every token issued before them has expired anyway.
+@Component
+@RequiredArgsConstructor
+public class CheckInRevocationIndex {
+
+    private final CheckInRevocationRepo revocationRepo;
+
+    @Value("${app.check-in-token.ttl-hours:24}")
+    private long tokenTtlHours;
+
+    private volatile long[] bits = new long[1024];
+    private final Map<Long, Long> revokedAtEpochMilli = new ConcurrentHashMap<>();
+
+    // Tokens carry their issue time in epoch millis
+    public boolean isRevoked(long customerId, long issuedAtEpochMilli) {
+        long[] current = bits;
+        int word = (int) (customerId >>> 6);
+        if (customerId < 0 || word >= current.length || (current[word] & (1L << customerId)) == 0) {
+            return false;
+        }
+        Long revokedAt = revokedAtEpochMilli.get(customerId);
+        return revokedAt != null && issuedAtEpochMilli <= revokedAt;
+    }
+
+    public void revoke(long customerId) {
+        LocalDateTime now = LocalDateTime.now();
+        revocationRepo.save(new CheckInRevocation(customerId, now));
+        mark(customerId, now);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        revocationRepo.findAll().forEach(r -> mark(r.getCustomerId(), r.getRevokedAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.isDeleted() || event.isMembershipShortened()) {
+            revoke(event.getCustomerId());
+        }
+    }
+
+    @Scheduled(cron = "${app.check-in-token.prune-cron:0 20 4 * * *}")
+    public void prune() {
+        LocalDateTime before = LocalDateTime.now().minusHours(tokenTtlHours);
+        revocationRepo.deleteRevokedBefore(before);
+        long cutoff = epochMilli(before);
+        revokedAtEpochMilli.values().removeIf(revokedAt -> revokedAt < cutoff);
+    }
+
+    private synchronized void mark(long customerId, LocalDateTime revokedAt) {
+        revokedAtEpochMilli.merge(customerId, epochMilli(revokedAt), Math::max);
+        int word = (int) (customerId >>> 6);
+        long[] current = bits;
+        if (word >= current.length) {
+            current = Arrays.copyOf(current, Math.max(word + 1, current.length * 2));
+        } else {
+            current = current.clone();
+        }
+        current[word] |= 1L << customerId;
+        bits = current;
+    }
+
+    private static long epochMilli(LocalDateTime at) {
+        return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
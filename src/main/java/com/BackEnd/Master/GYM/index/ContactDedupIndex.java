@@ -0,0 +1,204 @@
+package com.BackEnd.Master.GYM.index;
+
+import com.BackEnd.Master.GYM.entity.ContactMessage;
+import com.BackEnd.Master.GYM.repository.ContactMessageRepo;
+import com.BackEnd.Master.GYM.util.BloomFilter;
+import com.BackEnd.Master.GYM.util.SimHash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Recent contact messages, for dropping repeats before they are stored:
+//  - exact repeats: a Bloom filter on hash(email, normalized message); a hit is confirmed by the indexed
+//    content_hash column, so the common "new message" case never touches the DB
+//  - near-duplicates from the same sender (normalized email): SimHash split in max-distance + 1 bands;
+//    two hashes at most max-distance bits apart share at least one band exactly, so only messages in the
+//    same band buckets are compared. Buckets are per sender: two members asking the same question are
+//    two messages, each with an address to answer.
+// Both live in two generations rotated every window, so a message is remembered for one to two windows.
+@Component
+@RequiredArgsConstructor
+public class ContactDedupIndex {
+
+    private final ContactMessageRepo contactMessageRepo;
+
+    @Value("${app.contact.dedup.window-hours:24}")
+    private long windowHours;
+    @Value("${app.contact.dedup.expected-per-window:100000}")
+    private long expectedPerWindow;
+    @Value("${app.contact.dedup.max-distance:6}")
+    private int maxDistance;
+    @Value("${app.contact.dedup.min-words:8}")
+    private int minWords;
+
+    private int bands;
+    private int bandWidth;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    @PostConstruct
+    void init() {
+        bands = Math.min(64, maxDistance + 1);
+        bandWidth = 64 / bands;
+        current = new Generation(expectedPerWindow);
+        previous = new Generation(expectedPerWindow);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Date since = new Date(System.currentTimeMillis() - windowHours * 3_600_000L);
+        Batch batch = newBatch();
+        for (Object[] row : contactMessageRepo.findFingerprintsSince(since)) {
+            ContactMessage message = new ContactMessage();
+            message.setId((Long) row[0]);
+            message.setEmail((String) row[1]);
+            message.setMessage((String) row[2]);
+            fingerprint(message);
+            batch.accept(message);
+        }
+        batch.commit();
+    }
+
+    @Scheduled(fixedRateString = "#{${app.contact.dedup.window-hours:24} * 3600000}",
+            initialDelayString = "#{${app.contact.dedup.window-hours:24} * 3600000}")
+    public void rotate() {
+        previous = current;
+        current = new Generation(expectedPerWindow);
+    }
+
+    // Deleted messages must not absorb new copies
+    public void forget(Collection<Long> ids) {
+        Set<Long> forgotten = new HashSet<>(ids);
+        for (Generation generation : new Generation[] { current, previous }) {
+            generation.buckets.values().forEach(entries -> entries.removeIf(entry -> forgotten.contains(entry.id())));
+        }
+    }
+
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    // Sets contentHash and simHash; the SimHash is only kept for messages long enough to compare
+    private void fingerprint(ContactMessage message) {
+        List<String> words = SimHash.words(message.getMessage());
+        message.setContentHash(SimHash.hash(normalizedEmail(message), String.join(" ", words)));
+        message.setSimHash(words.size() >= minWords ? SimHash.of(words) : null);
+    }
+
+    private static String normalizedEmail(ContactMessage message) {
+        return message.getEmail() == null ? "" : message.getEmail().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long sender(ContactMessage message) {
+        return SimHash.hash(normalizedEmail(message));
+    }
+
+    // The last band also takes the bits left over by the division; mixed with the sender so each sender
+    // has its own buckets
+    private long bandKey(long sender, long simHash, int band) {
+        int width = band == bands - 1 ? 64 - band * bandWidth : bandWidth;
+        long value = (simHash >>> (band * bandWidth)) & (width == 64 ? -1L : (1L << width) - 1);
+        return ((long) band << 58 ^ value) * 31 + sender;
+    }
+
+    // Messages checked together (one request, or one write-behind batch). Messages accepted in the batch
+    // are matched by the later ones, and only join the shared index on commit(), once they are stored.
+    public final class Batch {
+        private final Map<Long, Long> exact = new HashMap<>();
+        private final List<Entry> near = new ArrayList<>();
+        private final List<ContactMessage> accepted = new ArrayList<>();
+
+        // Id of the stored message this one repeats, null when it is new
+        public Long findOriginal(ContactMessage message) {
+            fingerprint(message);
+            long contentHash = message.getContentHash();
+            Long original = exact.get(contentHash);
+            if (original != null) {
+                return original;
+            }
+            if (current.bloom.mightContain(contentHash) || previous.bloom.mightContain(contentHash)) {
+                original = contactMessageRepo.findOriginalIdByContentHash(contentHash);
+                if (original != null) {
+                    return original;
+                }
+            }
+            Long simHash = message.getSimHash();
+            if (simHash == null) {
+                return null;
+            }
+            long sender = sender(message);
+            for (Entry entry : near) {
+                if (entry.sender() == sender && SimHash.distance(entry.simHash(), simHash) <= maxDistance) {
+                    return entry.id();
+                }
+            }
+            for (Generation generation : new Generation[] { current, previous }) {
+                for (int band = 0; band < bands; band++) {
+                    Queue<Entry> entries = generation.buckets.get(bandKey(sender, simHash, band));
+                    if (entries == null) {
+                        continue;
+                    }
+                    for (Entry entry : entries) {
+                        if (entry.sender() == sender && SimHash.distance(entry.simHash(), simHash) <= maxDistance) {
+                            return entry.id();
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        // The message must have its id
+        public void accept(ContactMessage message) {
+            exact.putIfAbsent(message.getContentHash(), message.getId());
+            if (message.getSimHash() != null) {
+                near.add(new Entry(message.getId(), message.getSimHash(), sender(message)));
+            }
+            accepted.add(message);
+        }
+
+        public void commit() {
+            Generation generation = current;
+            for (ContactMessage message : accepted) {
+                generation.bloom.put(message.getContentHash());
+                if (message.getSimHash() != null) {
+                    Entry entry = new Entry(message.getId(), message.getSimHash(), sender(message));
+                    for (int band = 0; band < bands; band++) {
+                        generation.buckets.computeIfAbsent(bandKey(entry.sender(), entry.simHash(), band),
+                                k -> new ConcurrentLinkedQueue<>()).add(entry);
+                    }
+                }
+            }
+            accepted.clear();
+        }
+    }
+
+    private record Entry(long id, long simHash, long sender) {
+    }
+
+    private static final class Generation {
+        final BloomFilter bloom;
+        final Map<Long, Queue<Entry>> buckets = new ConcurrentHashMap<>();
+
+        Generation(long expectedInsertions) {
+            bloom = new BloomFilter(expectedInsertions, 0.01);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.BackEnd.Master.GYM.index;
+
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.dto.SegmentCriterionDto;
+import com.BackEnd.Master.GYM.dto.SegmentCriterionDto.Status;
+import com.BackEnd.Master.GYM.dto.SegmentQueryDto;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.events.CustomerChangedEvent;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.util.IdBitmap;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Customer ids as bitmaps per pack, per coach and per membership start/end day, so segment queries are
+// set operations in memory. Statuses are derived from the day bitmaps at query time, nothing has to be
+// rebuilt when the date changes. Loaded at startup and kept current through CustomerChangedEvent.
+@Component
+@RequiredArgsConstructor
+public class CustomerSegmentIndex {
+    private static final Logger log = LoggerFactory.getLogger(CustomerSegmentIndex.class);
+
+    private final customerRepo customerRepo;
+
+    @Value("${app.customers.segments.batch-size:1000}")
+    private int batchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IdBitmap all = new IdBitmap();
+    private final IdBitmap noMembership = new IdBitmap();
+    private final Map<String, IdBitmap> byPack = new HashMap<>();
+    private final Map<Long, IdBitmap> byCoach = new HashMap<>();
+    private final TreeMap<LocalDate, IdBitmap> byDateDebut = new TreeMap<>();
+    private final TreeMap<LocalDate, IdBitmap> byDateFin = new TreeMap<>();
+    private final Map<Long, Fields> fieldsById = new HashMap<>();
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Write paths wait for the load, so nothing committed meanwhile is missed
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Object[]> rows = customerRepo.findSegmentFieldsAfter(afterId, Limit.of(batchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    long id = (Long) row[0];
+                    add(id, new Fields(packKey((String) row[1]), (Long) row[2], (LocalDate) row[3], (LocalDate) row[4]));
+                    afterId = id;
+                }
+            }
+            loaded = true;
+            log.debug("Segment index loaded with {} customers", fieldsById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getCustomerId());
+            if (!event.isDeleted()) {
+                customer saved = event.getSaved();
+                add(saved.getId(), new Fields(packKey(saved.getPack()),
+                        saved.getUser() == null ? null : saved.getUser().getId(), saved.getDateDebut(), saved.getDateFin()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Matching ids, ascending, from offset
+    public Result query(SegmentQueryDto query, LocalDate today, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            IdBitmap result = all;
+            for (SegmentCriterionDto criterion : nullToEmpty(query.getAll())) {
+                result = result.and(evaluate(criterion, today));
+            }
+            if (!nullToEmpty(query.getAny()).isEmpty()) {
+                List<IdBitmap> matches = new ArrayList<>();
+                for (SegmentCriterionDto criterion : query.getAny()) {
+                    matches.add(evaluate(criterion, today));
+                }
+                result = result.and(IdBitmap.orAll(matches));
+            }
+            for (SegmentCriterionDto criterion : nullToEmpty(query.getNone())) {
+                result = result.andNot(evaluate(criterion, today));
+            }
+            return new Result(result.cardinality(), result.page(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IdBitmap evaluate(SegmentCriterionDto criterion, LocalDate today) {
+        if (criterion == null || criterion.getField() == null || criterion.getValues() == null || criterion.getValues().isEmpty()) {
+            throw new InvalidEntityException("Each segment criterion needs a field and at least one value");
+        }
+        List<IdBitmap> matches = new ArrayList<>();
+        for (String value : criterion.getValues()) {
+            matches.add(switch (criterion.getField()) {
+                case PACK -> byPack.getOrDefault(packKey(value), new IdBitmap());
+                case COACH -> byCoach.getOrDefault(parseLong(value, "coach id"), new IdBitmap());
+                case STATUS -> status(parseStatus(value), today);
+                case EXPIRING_WITHIN_DAYS -> {
+                    long days = parseLong(value, "day count");
+                    if (days < 0) {
+                        throw new InvalidEntityException("Day count cannot be negative");
+                    }
+                    // Same (today, today + days] window as /customer/expiring
+                    yield IdBitmap.orAll(byDateFin.subMap(today, false, today.plusDays(days), true).values());
+                }
+            });
+        }
+        return matches.size() == 1 ? matches.get(0) : IdBitmap.orAll(matches);
+    }
+
+    private IdBitmap status(Status status, LocalDate today) {
+        return switch (status) {
+            case ACTIVE -> IdBitmap.orAll(byDateFin.tailMap(today, true).values())
+                    .andNot(IdBitmap.orAll(byDateDebut.tailMap(today, false).values()));
+            case EXPIRED -> IdBitmap.orAll(byDateFin.headMap(today, false).values());
+            case UPCOMING -> IdBitmap.orAll(byDateDebut.tailMap(today, false).values());
+            case NO_MEMBERSHIP -> noMembership;
+        };
+    }
+
+    private void add(long id, Fields fields) {
+        fieldsById.put(id, fields);
+        all.add(id);
+        if (fields.pack() != null) {
+            byPack.computeIfAbsent(fields.pack(), k -> new IdBitmap()).add(id);
+        }
+        if (fields.coachId() != null) {
+            byCoach.computeIfAbsent(fields.coachId(), k -> new IdBitmap()).add(id);
+        }
+        if (fields.dateDebut() == null || fields.dateFin() == null) {
+            noMembership.add(id);
+        } else {
+            byDateDebut.computeIfAbsent(fields.dateDebut(), k -> new IdBitmap()).add(id);
+            byDateFin.computeIfAbsent(fields.dateFin(), k -> new IdBitmap()).add(id);
+        }
+    }
+
+    private void remove(long id) {
+        Fields fields = fieldsById.remove(id);
+        if (fields == null) {
+            return;
+        }
+        all.remove(id);
+        noMembership.remove(id);
+        removeFrom(byPack, fields.pack(), id);
+        removeFrom(byCoach, fields.coachId(), id);
+        removeFrom(byDateDebut, fields.dateDebut(), id);
+        removeFrom(byDateFin, fields.dateFin(), id);
+    }
+
+    private static <K> void removeFrom(Map<K, IdBitmap> bitmaps, K key, long id) {
+        IdBitmap bitmap = key == null ? null : bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static String packKey(String pack) {
+        return pack == null || pack.isBlank() ? null : pack.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long parseLong(String value, String what) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException | NullPointerException ex) {
+            throw new InvalidEntityException("Invalid " + what + ": " + value);
+        }
+    }
+
+    private static Status parseStatus(String value) {
+        try {
+            return Status.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new InvalidEntityException("Unknown membership status: " + value);
+        }
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private record Fields(String pack, Long coachId, LocalDate dateDebut, LocalDate dateFin) {
+    }
+
+    public record Result(long total, long[] ids) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.BackEnd.Master.GYM.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Members currently in the gym, estimated as check-ins over the last visit window (no check-outs at the
+// turnstile). One cell per minute in a ring; each cell packs (epoch minute << 20 | count) in a single long
+// so a stale minute is reset and counted in the same CAS, without locks.
+@Component
+public class LiveOccupancyCounter {
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int windowMinutes;
+    private final AtomicLongArray cells;
+
+    public LiveOccupancyCounter(@Value("${app.attendance.visit-minutes:90}") int windowMinutes) {
+        this.windowMinutes = windowMinutes;
+        this.cells = new AtomicLongArray(windowMinutes + 1);
+    }
+
+    public int windowMinutes() {
+        return windowMinutes;
+    }
+
+    public void record(LocalDateTime at) {
+        long minute = epochMinute(at);
+        if (minute <= epochMinute(LocalDateTime.now()) - windowMinutes) {
+            return;
+        }
+        int index = (int) (minute % cells.length());
+        while (true) {
+            long cell = cells.get(index);
+            long cellMinute = cell >>> COUNT_BITS;
+            long next;
+            if (cellMinute == minute) {
+                next = (cell & COUNT_MASK) == COUNT_MASK ? cell : cell + 1;
+            } else if (cellMinute < minute) {
+                next = (minute << COUNT_BITS) | 1;
+            } else {
+                // The cell already moved on to a newer minute, this check-in is out of the window
+                return;
+            }
+            if (cells.compareAndSet(index, cell, next)) {
+                return;
+            }
+        }
+    }
+
+    public long current() {
+        long now = epochMinute(LocalDateTime.now());
+        long total = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            long cell = cells.get(i);
+            long minute = cell >>> COUNT_BITS;
+            if (minute > now - windowMinutes && minute <= now) {
+                total += cell & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private static long epochMinute(LocalDateTime at) {
+        return at.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
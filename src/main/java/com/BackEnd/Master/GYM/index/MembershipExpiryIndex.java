@@ -0,0 +1,146 @@
+package com.BackEnd.Master.GYM.index;
+
+import com.BackEnd.Master.GYM.Mapper.customerMapper;
+import com.BackEnd.Master.GYM.dto.customerDto;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.events.CustomerChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+
+// Customers whose membership ends inside the scanned window, sorted by (dateFin, id).
+// MembershipExpiryScanner rebuilds it from the DB every night as the window slides; in between,
+// customerService writes keep it current through CustomerChangedEvent.
+@Component
+@RequiredArgsConstructor
+public class MembershipExpiryIndex {
+
+    private final customerMapper customerMapper;
+
+    private volatile Window current = Window.empty();
+    private Window building;
+
+    // (from, to] of the window currently served
+    public LocalDate windowStart() {
+        return current.from;
+    }
+
+    public LocalDate windowEnd() {
+        return current.to;
+    }
+
+    public boolean isLoaded() {
+        return current.to != null;
+    }
+
+    // Memberships with from < dateFin <= to, clamped to the loaded window; the caller gets copies
+    public List<customerDto> between(LocalDate from, LocalDate to) {
+        Window window = current;
+        if (window.to == null) {
+            return List.of();
+        }
+        LocalDate lower = from.isBefore(window.from) ? window.from : from;
+        LocalDate upper = to.isAfter(window.to) ? window.to : to;
+        if (!lower.isBefore(upper)) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<ExpiryKey, customerDto> range = window.entries.subMap(
+                new ExpiryKey(lower, Long.MAX_VALUE), false, new ExpiryKey(upper, Long.MAX_VALUE), true);
+        List<customerDto> result = new ArrayList<>(range.size());
+        for (customerDto snapshot : range.values()) {
+            result.add(customerMapper.copy(snapshot));
+        }
+        return result;
+    }
+
+    public synchronized void beginRebuild(LocalDate from, LocalDate to) {
+        building = new Window(from, to);
+    }
+
+    // A batch may have been read before a change that was already applied here; the change is newer
+    public synchronized void addAll(List<customer> customers) {
+        for (customer c : customers) {
+            if (!building.changed.contains(c.getId())) {
+                building.put(c, customerMapper.map(c));
+            }
+        }
+    }
+
+    public synchronized void finishRebuild() {
+        current = building;
+        building = null;
+    }
+
+    // Write paths also land in the window being rebuilt, so a change made during a scan isn't lost
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCustomerChanged(CustomerChangedEvent event) {
+        customerDto snapshot = event.isDeleted() ? null : customerMapper.map(event.getSaved());
+        for (Window window : new Window[] { current, building }) {
+            if (window == null || window.to == null) {
+                continue;
+            }
+            if (window == building) {
+                window.changed.add(event.getCustomerId());
+            }
+            if (snapshot == null) {
+                window.remove(event.getCustomerId());
+            } else {
+                window.put(event.getSaved(), snapshot);
+            }
+        }
+    }
+
+    private record ExpiryKey(LocalDate dateFin, long id) implements Comparable<ExpiryKey> {
+        @Override
+        public int compareTo(ExpiryKey other) {
+            int byDate = dateFin.compareTo(other.dateFin);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    private static final class Window {
+        final LocalDate from;
+        final LocalDate to;
+        final ConcurrentSkipListMap<ExpiryKey, customerDto> entries = new ConcurrentSkipListMap<>();
+        final Map<Long, ExpiryKey> keyById = new ConcurrentHashMap<>();
+        // Ids written through events while this window is being rebuilt
+        final Set<Long> changed = new HashSet<>();
+
+        Window(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        static Window empty() {
+            return new Window(null, null);
+        }
+
+        void put(customer c, customerDto snapshot) {
+            remove(c.getId());
+            LocalDate dateFin = c.getDateFin();
+            if (dateFin == null || !dateFin.isAfter(from) || dateFin.isAfter(to)) {
+                return;
+            }
+            ExpiryKey key = new ExpiryKey(dateFin, c.getId());
+            keyById.put(c.getId(), key);
+            entries.put(key, snapshot);
+        }
+
+        void remove(Long id) {
+            ExpiryKey key = keyById.remove(id);
+            if (key != null) {
+                entries.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.BackEnd.Master.GYM.index;
+
+import com.BackEnd.Master.GYM.entity.OccupancyRollup;
+import com.BackEnd.Master.GYM.events.SeatReleasedEvent;
+import com.BackEnd.Master.GYM.events.SessionBookedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Hour-of-week deltas not yet added to occupancy_rollups. Check-ins are bucketed as they happen;
+// bookings are kept per session and bucketed at flush time, when their sessions are loaded in one query.
+// Draining zeroes each cell with getAndSet, so increments racing with a flush are kept for the next one;
+// increments run inside compute so an emptied entry is never dropped under a concurrent writer.
+@Component
+public class OccupancyHeatmap {
+    public static final int HOURS = OccupancyRollup.HOURS_PER_WEEK;
+
+    private final Map<LocalDate, AtomicIntegerArray> pendingCheckIns = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> pendingBookings = new ConcurrentHashMap<>();
+
+    public void recordCheckIn(LocalDateTime at) {
+        int hour = hourOfWeek(at.toLocalDate(), at.getHour());
+        pendingCheckIns.compute(weekStart(at.toLocalDate()), (week, cells) -> {
+            cells = cells == null ? new AtomicIntegerArray(HOURS) : cells;
+            cells.incrementAndGet(hour);
+            return cells;
+        });
+    }
+
+    public void recordBooking(Long sessionId, int delta) {
+        pendingBookings.compute(sessionId, (id, pending) -> {
+            pending = pending == null ? new AtomicInteger() : pending;
+            pending.addAndGet(delta);
+            return pending;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionBooked(SessionBookedEvent event) {
+        recordBooking(event.getSessionId(), 1);
+    }
+
+    // Runs after the waitlist had its chance at the seat: a promoted member keeps the count unchanged
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatReleased(SeatReleasedEvent event) {
+        if (!event.isSeatTaken()) {
+            recordBooking(event.getSessionId(), -1);
+        }
+    }
+
+    public Map<LocalDate, int[]> drainCheckIns() {
+        LocalDate currentWeek = weekStart(LocalDate.now());
+        Map<LocalDate, int[]> drained = new HashMap<>();
+        pendingCheckIns.forEach((week, cells) -> {
+            int[] counts = new int[HOURS];
+            boolean any = false;
+            for (int i = 0; i < HOURS; i++) {
+                counts[i] = cells.getAndSet(i, 0);
+                any |= counts[i] != 0;
+            }
+            if (any) {
+                drained.put(week, counts);
+            } else if (week.isBefore(currentWeek.minusWeeks(1))) {
+                // Nothing lands in old weeks any more
+                pendingCheckIns.computeIfPresent(week, (w, current) -> isZero(current) ? null : current);
+            }
+        });
+        return drained;
+    }
+
+    public Map<Long, Integer> drainBookings() {
+        Map<Long, Integer> drained = new HashMap<>();
+        pendingBookings.forEach((sessionId, delta) -> {
+            int value = delta.getAndSet(0);
+            if (value != 0) {
+                drained.put(sessionId, value);
+            } else {
+                pendingBookings.computeIfPresent(sessionId, (id, current) -> current.get() == 0 ? null : current);
+            }
+        });
+        return drained;
+    }
+
+    // Puts back deltas whose flush failed
+    public void restore(Map<LocalDate, int[]> checkIns, Map<Long, Integer> bookings) {
+        checkIns.forEach((week, counts) -> {
+            AtomicIntegerArray cells = pendingCheckIns.computeIfAbsent(week, w -> new AtomicIntegerArray(HOURS));
+            for (int i = 0; i < HOURS; i++) {
+                if (counts[i] != 0) {
+                    cells.addAndGet(i, counts[i]);
+                }
+            }
+        });
+        bookings.forEach(this::recordBooking);
+    }
+
+    // Unflushed check-ins of one week, for reads that should not wait for the next flush
+    public int[] pendingCheckIns(LocalDate weekStart) {
+        AtomicIntegerArray cells = pendingCheckIns.get(weekStart);
+        int[] counts = new int[HOURS];
+        if (cells != null) {
+            for (int i = 0; i < HOURS; i++) {
+                counts[i] = cells.get(i);
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isZero(AtomicIntegerArray cells) {
+        for (int i = 0; i < HOURS; i++) {
+            if (cells.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    public static int hourOfWeek(LocalDate date, int hour) {
+        return (date.getDayOfWeek().getValue() - 1) * 24 + hour;
+    }
+
+    public static byte[] pack(int[] counts) {
+        ByteBuffer buffer = ByteBuffer.allocate(HOURS * 4);
+        for (int count : counts) {
+            buffer.putInt(count);
+        }
+        return buffer.array();
+    }
+
+    public static int[] unpack(byte[] packed) {
+        int[] counts = new int[HOURS];
+        if (packed != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(packed);
+            for (int i = 0; i < HOURS && buffer.remaining() >= 4; i++) {
+                counts[i] = buffer.getInt();
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,56 @@
+package com.BackEnd.Master.GYM.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Remaining seats per session, used to turn away bookings for full sessions without touching the DB.
+// The DB conditional update stays the source of truth; a stale counter is simply evicted and reloaded.
+@Component
+public class SessionCapacityTracker {
+
+    private final Map<Long, Seats> remainingSeats = new ConcurrentHashMap<>();
+
+    public boolean tryAcquire(Long sessionId, Supplier<Capacity> loader) {
+        AtomicInteger remaining = remainingSeats.computeIfAbsent(sessionId, id -> new Seats(loader.get())).remaining;
+        while (true) {
+            int current = remaining.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (remaining.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Capped at the limit: a booking made before the counter was loaded can be cancelled after it
+    public void release(Long sessionId) {
+        remainingSeats.computeIfPresent(sessionId, (id, seats) -> {
+            seats.remaining.updateAndGet(current -> current < seats.limit ? current + 1 : current);
+            return seats;
+        });
+    }
+
+    public void evict(Long sessionId) {
+        remainingSeats.remove(sessionId);
+    }
+
+    // Seats left when loaded, and the session's participant limit
+    public record Capacity(int remaining, int limit) {
+        public static final Capacity UNLIMITED = new Capacity(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    private static final class Seats {
+        final AtomicInteger remaining;
+        final int limit;
+
+        Seats(Capacity capacity) {
+            this.remaining = new AtomicInteger(capacity.remaining());
+            this.limit = capacity.limit();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.BackEnd.Master.GYM.index;
+
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.events.TrainingSessionChangedEvent;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Per-day occupancy as a 288-bit set, one bit per 5-minute grid point (00:00, 00:05 ... 23:55).
+// A session [start, end] marks every grid point from floor(start) to ceil(end), so any run of free
+// points is a slot that won't hit the "Time conflict" check of TrainingSessionService.
+// Days are immutable snapshots swapped atomically: reads never lock, writes rebuild one day.
+// Loads and change events take the same lock, so a change committed while a day is being read from the
+// DB is either in what the load reads or applied on top of the installed day, never dropped. The lock is a
+// ReentrantLock because loads run a query while holding it.
+@Component
+@RequiredArgsConstructor
+public class SessionScheduleIndex {
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+
+    private final TrainingSessionRepo trainingSessionRepo;
+
+    private final Map<LocalDate, DayOccupancy> days = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDate> dayOfSession = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Loads the day when ensureLoaded didn't cover it
+    public long[] occupancy(LocalDate date) {
+        DayOccupancy day = days.get(date);
+        if (day == null) {
+            ensureLoaded(date, date);
+            day = days.get(date);
+        }
+        return day.bits();
+    }
+
+    // Loads any missing day of the range with a single findByDateBetween
+    public void ensureLoaded(LocalDate from, LocalDate to) {
+        if (allLoaded(from, to)) {
+            return;
+        }
+        lock.lock();
+        try {
+            load(from, to);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean allLoaded(LocalDate from, LocalDate to) {
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (!days.containsKey(d)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void load(LocalDate from, LocalDate to) {
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (!days.containsKey(d)) {
+                firstMissing = firstMissing == null ? d : firstMissing;
+                lastMissing = d;
+            }
+        }
+        if (firstMissing == null) {
+            return;
+        }
+        Map<LocalDate, List<TrainingSession>> byDate = trainingSessionRepo.findByDateBetween(firstMissing, lastMissing)
+                .stream()
+                .collect(Collectors.groupingBy(TrainingSession::getDate));
+        for (LocalDate d = firstMissing; !d.isAfter(lastMissing); d = d.plusDays(1)) {
+            Map<Long, int[]> intervals = new HashMap<>();
+            for (TrainingSession session : byDate.getOrDefault(d, List.of())) {
+                intervals.put(session.getId(), interval(session));
+                dayOfSession.put(session.getId(), d);
+            }
+            days.putIfAbsent(d, DayOccupancy.of(intervals));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsChanged(TrainingSessionChangedEvent event) {
+        lock.lock();
+        try {
+            for (Long id : event.getDeletedIds()) {
+                remove(id);
+            }
+            for (TrainingSession session : event.getSaved()) {
+                remove(session.getId());
+                days.computeIfPresent(session.getDate(), (d, day) -> day.with(session.getId(), interval(session)));
+                dayOfSession.put(session.getId(), session.getDate());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long sessionId) {
+        LocalDate date = dayOfSession.remove(sessionId);
+        if (date != null) {
+            days.computeIfPresent(date, (d, day) -> day.without(sessionId));
+        }
+    }
+
+    private static int[] interval(TrainingSession session) {
+        int first = minutes(session.getStartTime()) / SLOT_MINUTES;
+        int last = Math.min(SLOTS_PER_DAY - 1, (minutes(session.getEndTime()) + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        return new int[] { first, last };
+    }
+
+    public static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+    }
+
+    // Index of the next set (occupied) bit at or after from, or limit
+    public static int nextSet(long[] bits, int from, int limit) {
+        return next(bits, from, limit, 0L);
+    }
+
+    // Index of the next clear (free) bit at or after from, or limit
+    public static int nextClear(long[] bits, int from, int limit) {
+        return next(bits, from, limit, -1L);
+    }
+
+    private static int next(long[] bits, int from, int limit, long flip) {
+        if (from >= limit) {
+            return limit;
+        }
+        int word = from >>> 6;
+        long current = (bits[word] ^ flip) & (-1L << from);
+        while (current == 0) {
+            if (++word >= WORDS) {
+                return limit;
+            }
+            current = bits[word] ^ flip;
+        }
+        return Math.min(limit, (word << 6) + Long.numberOfTrailingZeros(current));
+    }
+
+    private record DayOccupancy(long[] bits, Map<Long, int[]> intervals) {
+
+        static DayOccupancy of(Map<Long, int[]> intervals) {
+            long[] bits = new long[WORDS];
+            for (int[] interval : intervals.values()) {
+                for (int slot = interval[0]; slot <= interval[1]; slot++) {
+                    bits[slot >>> 6] |= 1L << slot;
+                }
+            }
+            return new DayOccupancy(bits, intervals);
+        }
+
+        DayOccupancy with(Long id, int[] interval) {
+            Map<Long, int[]> copy = new HashMap<>(intervals);
+            copy.put(id, interval);
+            return of(copy);
+        }
+
+        DayOccupancy without(Long id) {
+            if (!intervals.containsKey(id)) {
+                return this;
+            }
+            Map<Long, int[]> copy = new HashMap<>(intervals);
+            copy.remove(id);
+            return of(copy);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.BackEnd.Master.GYM.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// In-memory view of each session's waitlist: a Fenwick tree over sequence numbers gives a member's
+// rank in O(log n) instead of a COUNT(*) of the entries ahead of them.
+@Component
+public class WaitlistIndex {
+
+    private final Map<Long, SessionQueue> queues = new ConcurrentHashMap<>();
+
+    // The loader receives an empty queue and fills it from the DB the first time a session is touched
+    public SessionQueue queue(Long sessionId, Function<SessionQueue, SessionQueue> loader) {
+        return queues.computeIfAbsent(sessionId, id -> loader.apply(new SessionQueue()));
+    }
+
+    public void evict(Long sessionId) {
+        queues.remove(sessionId);
+    }
+
+    public static final class SessionQueue {
+        private final Map<Long, Long> positionByCustomer = new HashMap<>();
+        private int[] tree = new int[64];
+        private long base = -1;
+        private long lastPosition;
+
+        // Loaded entries come in position order and every reserved position is past them, so the first
+        // one seen is the lowest this queue will hold, whatever order the joining transactions commit in
+        public synchronized long reserveNext() {
+            if (base < 0) {
+                base = lastPosition + 1;
+            }
+            return ++lastPosition;
+        }
+
+        public synchronized void add(Long customerId, long position) {
+            if (positionByCustomer.containsKey(customerId)) {
+                return;
+            }
+            if (base < 0) {
+                base = position;
+            }
+            int index = index(position);
+            positionByCustomer.put(customerId, position);
+            lastPosition = Math.max(lastPosition, position);
+            update(index, 1);
+        }
+
+        public synchronized void remove(Long customerId) {
+            Long position = positionByCustomer.remove(customerId);
+            if (position != null) {
+                update(index(position), -1);
+            }
+        }
+
+        public synchronized boolean contains(Long customerId) {
+            return positionByCustomer.containsKey(customerId);
+        }
+
+        // 1-based rank in the queue, null when the member is not waiting
+        public synchronized Integer rankOf(Long customerId) {
+            Long position = positionByCustomer.get(customerId);
+            return position == null ? null : prefixSum(index(position));
+        }
+
+        public synchronized int size() {
+            return positionByCustomer.size();
+        }
+
+        private int index(long position) {
+            long index = position - base + 1;
+            if (index < 1 || index > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Position " + position + " is outside this queue, which starts at " + base);
+            }
+            return (int) index;
+        }
+
+        private void update(int i, int delta) {
+            if (i >= tree.length) {
+                grow(i);
+            }
+            for (; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int prefixSum(int i) {
+            int sum = 0;
+            for (i = Math.min(i, tree.length - 1); i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        // Fenwick nodes depend on the array length, so rebuild from the point counts when growing
+        private void grow(int minIndex) {
+            int oldLength = tree.length;
+            int[] counts = new int[oldLength];
+            for (int i = 1; i < oldLength; i++) {
+                counts[i] = prefixSum(i) - prefixSum(i - 1);
+            }
+            int length = oldLength;
+            while (length <= minIndex) {
+                length <<= 1;
+            }
+            tree = new int[length];
+            for (int i = 1; i < oldLength; i++) {
+                if (counts[i] != 0) {
+                    for (int j = i; j < length; j += j & -j) {
+                        tree[j] += counts[i];
+                    }
+                }
+            }
+        }
+    }
+}
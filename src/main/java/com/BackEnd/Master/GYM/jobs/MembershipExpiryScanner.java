@@ -0,0 +1,69 @@
+package com.BackEnd.Master.GYM.jobs;
+
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.index.MembershipExpiryIndex;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Walks only the memberships ending in [today - lookback, today + window] through idx_customers_date_fin
+// and rebuilds MembershipExpiryIndex; runs at startup and just after midnight when the window slides.
+@Component
+@RequiredArgsConstructor
+public class MembershipExpiryScanner {
+    private static final Logger log = LoggerFactory.getLogger(MembershipExpiryScanner.class);
+
+    private final customerRepo customerRepo;
+    private final MembershipExpiryIndex expiryIndex;
+
+    @Value("${app.customers.expiry.window-days:30}")
+    private int windowDays;
+    @Value("${app.customers.expiry.lookback-days:30}")
+    private int lookbackDays;
+    @Value("${app.customers.expiry.batch-size:500}")
+    private int batchSize;
+
+    public int windowDays() {
+        return windowDays;
+    }
+
+    public int lookbackDays() {
+        return lookbackDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.customers.expiry.cron:0 1 0 * * *}")
+    public void scan() {
+        LocalDate today = LocalDate.now();
+        // Exclusive bound: findExpired(lookback) reaches back to today - lookback
+        LocalDate from = today.minusDays(lookbackDays + 1);
+        LocalDate to = today.plusDays(windowDays);
+        expiryIndex.beginRebuild(from, to);
+        LocalDate afterDate = from;
+        long afterId = 0;
+        int loaded = 0;
+        while (true) {
+            List<customer> batch = customerRepo.findExpiringAfter(from, to, afterDate, afterId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            expiryIndex.addAll(batch);
+            customer last = batch.get(batch.size() - 1);
+            afterDate = last.getDateFin();
+            afterId = last.getId();
+            loaded += batch.size();
+        }
+        expiryIndex.finishRebuild();
+        log.debug("Loaded {} memberships ending between {} and {}", loaded, from, to);
+    }
+}
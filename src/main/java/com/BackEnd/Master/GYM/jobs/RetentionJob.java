@@ -0,0 +1,153 @@
+package com.BackEnd.Master.GYM.jobs;
+
+import com.BackEnd.Master.GYM.config.RetentionProperties;
+import com.BackEnd.Master.GYM.config.RetentionProperties.Action;
+import com.BackEnd.Master.GYM.config.RetentionProperties.Policy;
+import com.BackEnd.Master.GYM.events.RowsRetiredEvent;
+import com.BackEnd.Master.GYM.repository.RetentionRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Applies the app.retention policies: expired rows are purged, or copied to the archive table then
+// deleted, in small keyset batches of one transaction each with a pause in between, so locks are short
+// and the live traffic keeps its share of the DB. Progress is published as retention.* metrics per policy.
+@Component
+@RequiredArgsConstructor
+public class RetentionJob {
+    private static final Logger log = LoggerFactory.getLogger(RetentionJob.class);
+
+    private final RetentionProperties properties;
+    private final RetentionRepo retentionRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Progress> progress = new LinkedHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        for (Policy policy : properties.getPolicies()) {
+            RetentionRepo.checkIdentifier(policy.getTable(), "table");
+            RetentionRepo.checkIdentifier(policy.getKeyColumn(), "key column");
+            RetentionRepo.checkIdentifier(policy.getAgeColumn(), "age column");
+            if (policy.getOlderThanDays() <= 0 || policy.getBatchSize() <= 0) {
+                throw new IllegalStateException("Retention policy " + policy.getName() + " needs positive older-than-days and batch-size");
+            }
+            if (policy.getAction() == Action.ARCHIVE) {
+                RetentionRepo.checkIdentifier(policy.getArchiveTable(), "archive table");
+                retentionRepo.ensureArchiveTable(policy);
+            }
+            progress.put(policy.getName(), new Progress(policy));
+        }
+        ready = true;
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 0 4 * * *}")
+    public void run() {
+        if (!properties.isEnabled() || !ready || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(properties.getMaxRunMinutes());
+            for (Policy policy : properties.getPolicies()) {
+                try {
+                    apply(policy, progress.get(policy.getName()), deadline);
+                } catch (RuntimeException ex) {
+                    log.error("Retention policy {} failed, the remaining rows wait for the next run", policy.getName(), ex);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void apply(Policy policy, Progress state, long deadline) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(policy.getOlderThanDays());
+        state.running.set(1);
+        state.lastRunRows.set(0);
+        long afterKey = 0;
+        try {
+            while (System.nanoTime() < deadline) {
+                List<Long> keys = retentionRepo.findExpiredKeys(policy, cutoff, afterKey, policy.getBatchSize());
+                if (keys.isEmpty()) {
+                    state.lastCompleted.set(System.currentTimeMillis() / 1000);
+                    break;
+                }
+                Integer removed = transactionTemplate.execute(status -> {
+                    int n = policy.getAction() == Action.ARCHIVE
+                            ? retentionRepo.archive(policy, keys)
+                            : retentionRepo.purge(policy, keys);
+                    eventPublisher.publishEvent(new RowsRetiredEvent(policy.getTable(), keys, policy.getAction() == Action.ARCHIVE));
+                    return n;
+                });
+                afterKey = keys.get(keys.size() - 1);
+                state.lastKey.set(afterKey);
+                state.lastRunRows.addAndGet(removed);
+                state.rows.increment(removed);
+                if (keys.size() < policy.getBatchSize()) {
+                    state.lastCompleted.set(System.currentTimeMillis() / 1000);
+                    break;
+                }
+                pause(policy.getPauseMs());
+            }
+        } finally {
+            state.running.set(0);
+        }
+        if (state.lastRunRows.get() > 0) {
+            log.info("Retention policy {}: {} rows older than {} {}", policy.getName(), state.lastRunRows.get(), cutoff,
+                    policy.getAction() == Action.ARCHIVE ? "archived" : "purged");
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Retention run interrupted", ex);
+        }
+    }
+
+    private final class Progress {
+        final Counter rows;
+        final AtomicLong running = new AtomicLong();
+        final AtomicLong lastKey = new AtomicLong();
+        final AtomicLong lastRunRows = new AtomicLong();
+        // Epoch seconds of the last run that got through every expired row
+        final AtomicLong lastCompleted = new AtomicLong();
+
+        Progress(Policy policy) {
+            String name = policy.getName();
+            String action = policy.getAction().name().toLowerCase(Locale.ROOT);
+            rows = Counter.builder("retention.rows").tag("policy", name).tag("action", action).register(meterRegistry);
+            Gauge.builder("retention.running", running, AtomicLong::get).tag("policy", name).register(meterRegistry);
+            Gauge.builder("retention.last.key", lastKey, AtomicLong::get).tag("policy", name).register(meterRegistry);
+            Gauge.builder("retention.last.run.rows", lastRunRows, AtomicLong::get).tag("policy", name).register(meterRegistry);
+            Gauge.builder("retention.last.completed", lastCompleted, AtomicLong::get).tag("policy", name).register(meterRegistry);
+        }
+    }
+}
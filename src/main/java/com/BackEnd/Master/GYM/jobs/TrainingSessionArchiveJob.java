@@ -0,0 +1,80 @@
+package com.BackEnd.Master.GYM.jobs;
+
+import com.BackEnd.Master.GYM.events.TrainingSessionChangedEvent;
+import com.BackEnd.Master.GYM.repository.TrainingSessionArchiveRepo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Moves sessions older than the horizon (and their bookings) to the archive tables, one batch per transaction
+// so the live table is never locked for long.
+@Component
+@RequiredArgsConstructor
+public class TrainingSessionArchiveJob {
+    private static final Logger log = LoggerFactory.getLogger(TrainingSessionArchiveJob.class);
+
+    private final TrainingSessionArchiveRepo archiveRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.sessions.archive.enabled:true}")
+    private boolean enabled;
+    @Value("${app.sessions.archive.horizon-months:12}")
+    private int horizonMonths;
+    @Value("${app.sessions.archive.batch-size:1000}")
+    private int batchSize;
+
+    // Last date that may live in the archive table, null while it is empty
+    private volatile LocalDate archivedThrough;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        archiveRepo.ensureTables();
+        archivedThrough = archiveRepo.lastArchivedDate();
+        ready = true;
+    }
+
+    public LocalDate archivedThrough() {
+        return archivedThrough;
+    }
+
+    @Scheduled(cron = "${app.sessions.archive.cron:0 30 3 * * *}")
+    public void archiveOldSessions() {
+        if (!enabled || !ready) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusMonths(horizonMonths);
+        int archived = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = archiveRepo.findIdsBefore(cutoff, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                archiveRepo.archive(ids);
+                eventPublisher.publishEvent(TrainingSessionChangedEvent.deleted(ids));
+            });
+            archived += ids.size();
+            lastId = ids.get(ids.size() - 1);
+            LocalDate through = cutoff.minusDays(1);
+            if (archivedThrough == null || archivedThrough.isBefore(through)) {
+                archivedThrough = through;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} training sessions older than {}", archived, cutoff);
+        }
+    }
+}
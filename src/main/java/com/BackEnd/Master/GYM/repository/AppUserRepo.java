@@ -3,6 +3,7 @@ package com.BackEnd.Master.GYM.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.BackEnd.Master.GYM.entity.AppUsers;
@@ -12,6 +13,7 @@ public interface AppUserRepo extends JpaRepository<AppUsers, Long> {
 
     AppUsers findByUserName(String userName);
 
+    @Query("select u from AppUsers u join u.role r where r.roleName = :roleName")
     List<AppUsers> findByRoleRoleName(String roleName);
 
     List<AppUsers> findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase(
@@ -21,4 +23,10 @@ public interface AppUserRepo extends JpaRepository<AppUsers, Long> {
 
     long countByRoleRoleName(String roleName);
 
+    @Query("select u.id from AppUsers u")
+    List<Long> findAllIds();
+
+    @Query("select lower(u.userName) from AppUsers u where u.userName is not null")
+    List<String> findAllUserNamesLowerCase();
+
 }
\ No newline at end of file
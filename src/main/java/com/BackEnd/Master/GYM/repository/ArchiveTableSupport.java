@@ -0,0 +1,93 @@
+package com.BackEnd.Master.GYM.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Shared plumbing for jobs that move cold rows of a table into "<table>_archive"
+@Repository
+@RequiredArgsConstructor
+public class ArchiveTableSupport {
+    private static final Logger log = LoggerFactory.getLogger(ArchiveTableSupport.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    public void ensureArchiveTable(String source, String archive) {
+        if (isMySql()) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " LIKE " + source);
+        } else {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " AS SELECT * FROM " + source + " WITH NO DATA");
+        }
+    }
+
+    // Copies rows by id using the columns both tables share, so a column added to the live table
+    // later on doesn't break archiving (it just isn't archived until the archive table gets it too)
+    public int copyRows(String source, String archive, String keyColumn, Collection<Long> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        String columns = String.join(", ", sharedColumns(source, archive));
+        return namedJdbcTemplate.update("INSERT INTO " + archive + " (" + columns + ") SELECT " + columns
+                + " FROM " + source + " WHERE " + keyColumn + " IN (:keys)", Map.of("keys", keys));
+    }
+
+    public int deleteRows(String table, String keyColumn, Collection<Long> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("DELETE FROM " + table + " WHERE " + keyColumn + " IN (:keys)", Map.of("keys", keys));
+    }
+
+    private List<String> sharedColumns(String source, String archive) {
+        Set<String> sourceColumns = columns(source);
+        Set<String> archiveColumns = columns(archive);
+        List<String> shared = new ArrayList<>();
+        for (String column : sourceColumns) {
+            if (archiveColumns.contains(column)) {
+                shared.add(column);
+            }
+        }
+        if (shared.size() < sourceColumns.size()) {
+            log.warn("Archive table {} is missing columns of {}, they are not archived", archive, source);
+        }
+        return shared;
+    }
+
+    private Set<String> columns(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) c -> {
+            DatabaseMetaData meta = c.getMetaData();
+            Set<String> names = new LinkedHashSet<>();
+            for (String candidate : List.of(table, table.toUpperCase(Locale.ROOT))) {
+                try (ResultSet rs = meta.getColumns(c.getCatalog(), c.getSchema(), candidate, null)) {
+                    while (rs.next()) {
+                        names.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+                if (!names.isEmpty()) {
+                    break;
+                }
+            }
+            return names;
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.CheckIn;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CheckInBatchRepo {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO check_ins (id, customer_id, checked_in_at, source) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+
+    // One transaction per batch: the whole batch is durable or none of it is
+    @Transactional
+    public void insertAll(List<CheckIn> checkIns) {
+        long[] ids = idAllocator.next(CheckIn.class, checkIns.size());
+        for (int i = 0; i < checkIns.size(); i++) {
+            checkIns.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, checkIns, checkIns.size(), (ps, c) -> {
+            ps.setLong(1, c.getId());
+            ps.setLong(2, c.getCustomerId());
+            ps.setTimestamp(3, Timestamp.valueOf(c.getCheckedInAt()));
+            ps.setString(4, c.getSource());
+        });
+    }
+}
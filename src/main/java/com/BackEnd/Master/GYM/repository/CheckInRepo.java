@@ -0,0 +1,18 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.CheckIn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CheckInRepo extends JpaRepository<CheckIn, Long> {
+
+    @Query("select c.checkedInAt from CheckIn c where c.checkedInAt > :since")
+    List<LocalDateTime> findCheckInTimesAfter(LocalDateTime since);
+
+    List<CheckIn> findTop100ByCustomerIdOrderByCheckedInAtDesc(Long customerId);
+}
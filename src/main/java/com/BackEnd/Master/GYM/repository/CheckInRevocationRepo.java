@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.CheckInRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CheckInRevocationRepo extends JpaRepository<CheckInRevocation, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from CheckInRevocation r where r.revokedAt < :before")
+    int deleteRevokedBefore(LocalDateTime before);
+}
@@ -0,0 +1,61 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.ContactMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ContactMessageBatchRepo {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO contact_messages (id, name, email, message, status, created_at, content_hash, sim_hash, duplicate_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+
+    // Messages that already have an id keep it
+    @Transactional
+    public void insertAll(List<ContactMessage> messages) {
+        assignIds(messages);
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, m) -> {
+            ps.setLong(1, m.getId());
+            ps.setString(2, m.getName());
+            ps.setString(3, m.getEmail());
+            ps.setString(4, m.getMessage());
+            ps.setString(5, m.getStatus().name());
+            ps.setTimestamp(6, new Timestamp(m.getCreatedAt().getTime()));
+            setLong(ps, 7, m.getContentHash());
+            setLong(ps, 8, m.getSimHash());
+            ps.setInt(9, m.getDuplicateCount());
+        });
+    }
+
+    public void assignIds(List<ContactMessage> messages) {
+        List<ContactMessage> missing = messages.stream().filter(m -> m.getId() == null).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        long[] ids = idAllocator.next(ContactMessage.class, missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            missing.get(i).setId(ids[i]);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
@@ -3,12 +3,23 @@ package com.BackEnd.Master.GYM.repository;
 import com.BackEnd.Master.GYM.entity.ContactMessage;
 import com.BackEnd.Master.GYM.entity.MessageStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 @Repository
 public interface ContactMessageRepo extends JpaRepository<ContactMessage, Long> {
+        // Bulk moderation filters; query is a lowercased LIKE pattern
+        String MATCHING = "and (:status is null or m.status = :status) "
+                        + "and (:before is null or m.createdAt < :before) "
+                        + "and (:query is null or lower(m.name) like :query or lower(m.email) like :query "
+                        + "or lower(m.message) like :query)";
+
         List<ContactMessage> findByStatus(MessageStatus status);
         List<ContactMessage> findAllByOrderByCreatedAtDesc();
         
@@ -21,5 +32,35 @@ public interface ContactMessageRepo extends JpaRepository<ContactMessage, Long>
                         MessageStatus status2, String email,
                         MessageStatus status3, String message);
 
+        @Query("select min(m.id) from ContactMessage m where m.contentHash = :contentHash")
+        Long findOriginalIdByContentHash(Long contentHash);
+
+        @Modifying
+        @Transactional
+        @Query("update ContactMessage m set m.duplicateCount = m.duplicateCount + :count where m.id = :id")
+        int incrementDuplicateCount(Long id, int count);
+
+        // Bulk moderation: one statement each, null filters match everything
+        @Modifying
+        @Transactional
+        @Query("update ContactMessage m set m.status = :target where m.id in :ids and m.status <> :target")
+        int updateStatusByIds(Collection<Long> ids, MessageStatus target);
+
+        @Modifying
+        @Transactional
+        @Query("update ContactMessage m set m.status = :target where m.status <> :target " + MATCHING)
+        int updateStatusMatching(MessageStatus status, String query, Date before, MessageStatus target);
+
+        @Query("select m.id from ContactMessage m where 1 = 1 " + MATCHING)
+        List<Long> findIdsMatching(MessageStatus status, String query, Date before);
+
+        @Modifying
+        @Transactional
+        @Query("delete from ContactMessage m where m.id in :ids")
+        int deleteByIds(Collection<Long> ids);
+
+        // Duplicate filter warm-up: [id, email, message]
+        @Query("select m.id, m.email, m.message from ContactMessage m where m.createdAt >= :since")
+        List<Object[]> findFingerprintsSince(Date since);
 
 }
\ No newline at end of file
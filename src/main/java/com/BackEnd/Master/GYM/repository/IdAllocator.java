@@ -0,0 +1,32 @@
+package com.BackEnd.Master.GYM.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+// Hands out ids from the entity's own Hibernate table generator, so JDBC batch inserts and
+// EntityManager.persist draw from the same pooled blocks and can never collide
+@Component
+@RequiredArgsConstructor
+public class IdAllocator {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public long[] next(Class<?> entityClass, int count) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator() instanceof IdentifierGenerator generator)) {
+            throw new IllegalStateException(entityClass.getSimpleName() + " ids are generated by the database, they can't be allocated upfront");
+        }
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        }
+        return ids;
+    }
+}
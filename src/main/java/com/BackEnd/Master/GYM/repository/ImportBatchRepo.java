@@ -0,0 +1,67 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.AppUsers;
+import com.BackEnd.Master.GYM.entity.customer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+// JDBC batch inserts for imports; ids must already be set from IdAllocator
+@Repository
+@RequiredArgsConstructor
+public class ImportBatchRepo {
+
+    private static final String INSERT_CUSTOMER_SQL =
+            "INSERT INTO customers (id, user_name, email, telephone, pack, profile_image, date_debut, date_fin, mont_pay, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO app_user (id, user_name, email, telephone, mot_de_passe, profile_image, description, role_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.jdbc.batch-size:500}")
+    private int batchSize;
+
+    public void insertCustomers(List<customer> customers) {
+        jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SQL, customers, batchSize, (ps, c) -> {
+            ps.setLong(1, c.getId());
+            ps.setString(2, c.getUserName());
+            ps.setString(3, c.getEmail());
+            ps.setString(4, c.getTelephone());
+            ps.setString(5, c.getPack());
+            ps.setString(6, c.getProfileImage());
+            ps.setDate(7, c.getDateDebut() == null ? null : Date.valueOf(c.getDateDebut()));
+            ps.setDate(8, c.getDateFin() == null ? null : Date.valueOf(c.getDateFin()));
+            ps.setString(9, c.getMontPay());
+            if (c.getUser() == null) {
+                ps.setNull(10, Types.BIGINT);
+            } else {
+                ps.setLong(10, c.getUser().getId());
+            }
+        });
+    }
+
+    public void insertUsers(List<AppUsers> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, batchSize, (ps, u) -> {
+            ps.setLong(1, u.getId());
+            ps.setString(2, u.getUserName());
+            ps.setString(3, u.getEmail());
+            ps.setString(4, u.getTelephone());
+            ps.setString(5, u.getMotDePasse());
+            ps.setString(6, u.getProfileImage());
+            ps.setString(7, u.getDescription());
+            if (u.getRole() == null) {
+                ps.setNull(8, Types.BIGINT);
+            } else {
+                ps.setLong(8, u.getRole().getId());
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.ImportJob;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepo extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findByStatusIn(Collection<ImportStatus> statuses);
+
+    List<ImportJob> findTop50ByOrderByIdDesc();
+}
@@ -0,0 +1,16 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.ImportRowError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportRowErrorRepo extends JpaRepository<ImportRowError, Long> {
+
+    List<ImportRowError> findByJobIdOrderByRowNumber(Long jobId, Pageable pageable);
+
+    long countByJobId(Long jobId);
+}
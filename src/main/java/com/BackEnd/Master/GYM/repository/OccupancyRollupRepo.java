@@ -0,0 +1,36 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.OccupancyRollup;
+import com.BackEnd.Master.GYM.entity.OccupancyRollup.Metric;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OccupancyRollupRepo extends JpaRepository<OccupancyRollup, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<OccupancyRollup> findByMetricAndWeekStart(Metric metric, LocalDate weekStart);
+
+    List<OccupancyRollup> findByWeekStartBetween(LocalDate from, LocalDate to);
+
+    // Backfill sources: [date, hour, count]
+    @Query("select cast(c.checkedInAt as LocalDate), extract(hour from c.checkedInAt), count(c) from CheckIn c "
+            + "where c.checkedInAt < :before "
+            + "group by cast(c.checkedInAt as LocalDate), extract(hour from c.checkedInAt)")
+    List<Object[]> countCheckInsByHour(LocalDateTime before);
+
+    // Bookings confirmed before the cutoff and still confirmed at that point
+    @Query("select s.date, extract(hour from s.startTime), count(b) from SessionBooking b join b.session s "
+            + "where b.bookedAt < :before "
+            + "and (b.status = com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus.CONFIRMED or b.cancelledAt >= :before) "
+            + "group by s.date, extract(hour from s.startTime)")
+    List<Object[]> countBookingsByHour(LocalDateTime before);
+}
@@ -0,0 +1,16 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.Pack;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PackRepo extends JpaRepository<Pack, Long> {
+
+    Optional<Pack> findByNameIgnoreCase(String name);
+
+    List<Pack> findByActiveTrueOrderByName();
+}
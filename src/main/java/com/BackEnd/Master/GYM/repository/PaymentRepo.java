@@ -0,0 +1,13 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentRepo extends JpaRepository<Payment, Long> {
+
+    List<Payment> findByCustomerIdOrderByPaidAtDesc(Long customerId);
+}
@@ -2,11 +2,15 @@ package com.BackEnd.Master.GYM.repository;
 
 import com.BackEnd.Master.GYM.entity.Photo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PhotoRepo extends JpaRepository<Photo, Long> {
+    // On the album_id column: the derived query left-joins albums and filters on the joined id,
+    // which keeps the optimizer off idx_photos_album
+    @Query("select p from Photo p where p.album.id = :albumId")
     List<Photo> findByAlbumId(Long albumId);
 }
\ No newline at end of file
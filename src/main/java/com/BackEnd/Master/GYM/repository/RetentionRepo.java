@@ -0,0 +1,51 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.config.RetentionProperties.Policy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// SQL for RetentionJob, built from the policy's table and column names
+@Repository
+@RequiredArgsConstructor
+public class RetentionRepo {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveTableSupport archiveTableSupport;
+
+    public static void checkIdentifier(String name, String what) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalStateException("Invalid retention " + what + ": " + name);
+        }
+    }
+
+    public void ensureArchiveTable(Policy policy) {
+        archiveTableSupport.ensureArchiveTable(policy.getTable(), policy.getArchiveTable());
+    }
+
+    // Next batch of expired keys, keyset-paged so each query only walks the key index from afterKey
+    public List<Long> findExpiredKeys(Policy policy, LocalDateTime cutoff, long afterKey, int limit) {
+        String condition = policy.getCondition() == null || policy.getCondition().isBlank()
+                ? "" : " AND (" + policy.getCondition() + ")";
+        return jdbcTemplate.queryForList("SELECT " + policy.getKeyColumn() + " FROM " + policy.getTable()
+                        + " WHERE " + policy.getAgeColumn() + " < ?" + condition + " AND " + policy.getKeyColumn() + " > ?"
+                        + " ORDER BY " + policy.getKeyColumn() + " LIMIT ?",
+                Long.class, Timestamp.valueOf(cutoff), afterKey, limit);
+    }
+
+    // Must run in a transaction
+    public int archive(Policy policy, List<Long> keys) {
+        archiveTableSupport.copyRows(policy.getTable(), policy.getArchiveTable(), policy.getKeyColumn(), keys);
+        return archiveTableSupport.deleteRows(policy.getTable(), policy.getKeyColumn(), keys);
+    }
+
+    public int purge(Policy policy, List<Long> keys) {
+        return archiveTableSupport.deleteRows(policy.getTable(), policy.getKeyColumn(), keys);
+    }
+}
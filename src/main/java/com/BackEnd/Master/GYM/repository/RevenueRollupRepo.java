@@ -0,0 +1,28 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.RevenueRollup;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Dimension;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Granularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepo extends JpaRepository<RevenueRollup, Long> {
+
+    // One statement per bucket: a MySQL UPDATE that matches no row still gap-locks the unique key, so an
+    // update-then-insert in another transaction would wait on the caller's own lock
+    @Modifying
+    @Query(value = "insert into revenue_rollups (id, granularity, period_start, dimension, dimension_id, amount_minor, payment_count) "
+            + "values (:id, :granularity, :periodStart, :dimension, :dimensionId, :amountMinor, 1) "
+            + "on duplicate key update amount_minor = amount_minor + :amountMinor, payment_count = payment_count + 1",
+            nativeQuery = true)
+    int add(long id, String granularity, LocalDate periodStart, String dimension, long dimensionId, long amountMinor);
+
+    List<RevenueRollup> findByGranularityAndDimensionAndPeriodStartBetweenOrderByPeriodStartAscDimensionIdAsc(
+            Granularity granularity, Dimension dimension, LocalDate from, LocalDate to);
+}
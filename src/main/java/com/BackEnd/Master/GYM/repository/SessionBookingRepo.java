@@ -0,0 +1,22 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.SessionBooking;
+import com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SessionBookingRepo extends JpaRepository<SessionBooking, Long> {
+    List<SessionBooking> findBySessionIdAndStatus(Long sessionId, BookingStatus status);
+
+    boolean existsBySessionIdAndCustomerIdAndStatus(Long sessionId, Long customerId, BookingStatus status);
+
+    @Modifying
+    @Query("update SessionBooking b set b.activeCustomerId = b.customer.id "
+            + "where b.status = com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus.CONFIRMED and b.activeCustomerId is null")
+    int backfillActiveCustomerIds();
+}
@@ -0,0 +1,21 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.SessionWaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SessionWaitlistRepo extends JpaRepository<SessionWaitlistEntry, Long> {
+    List<SessionWaitlistEntry> findBySessionIdOrderByPositionAsc(Long sessionId);
+
+    Optional<SessionWaitlistEntry> findBySessionIdAndCustomerId(Long sessionId, Long customerId);
+
+    // Locks the head so two concurrent cancellations can't promote the same member
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SessionWaitlistEntry> findFirstBySessionIdOrderByPositionAsc(Long sessionId);
+}
@@ -0,0 +1,136 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.entity.TrainingSession.SessionType;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo.SessionStatsRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+// Cold storage for sessions past the archive horizon, same columns as training_sessions. Reads that
+// cover dates up to TrainingSessionArchiveJob.archivedThrough() add these rows to the live ones.
+@Repository
+@RequiredArgsConstructor
+public class TrainingSessionArchiveRepo {
+    public static final String SESSIONS = "training_sessions";
+    public static final String SESSIONS_ARCHIVE = "training_sessions_archive";
+    public static final String BOOKINGS = "session_bookings";
+    public static final String BOOKINGS_ARCHIVE = "session_bookings_archive";
+
+    private static final RowMapper<TrainingSession> ROW_MAPPER = (rs, i) -> {
+        TrainingSession session = new TrainingSession();
+        session.setId(rs.getLong("id"));
+        session.setDate(rs.getDate("date").toLocalDate());
+        session.setStartTime(rs.getTime("start_time").toLocalTime());
+        session.setEndTime(rs.getTime("end_time").toLocalTime());
+        session.setSportName(rs.getString("sport_name"));
+        String type = rs.getString("session_type");
+        session.setSessionType(type == null ? null : SessionType.valueOf(type));
+        int max = rs.getInt("max_participants");
+        session.setMaxParticipants(rs.wasNull() ? null : max);
+        session.setBookedCount(rs.getInt("booked_count"));
+        return session;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveTableSupport archiveTableSupport;
+
+    public void ensureTables() {
+        archiveTableSupport.ensureArchiveTable(SESSIONS, SESSIONS_ARCHIVE);
+        archiveTableSupport.ensureArchiveTable(BOOKINGS, BOOKINGS_ARCHIVE);
+    }
+
+    // Latest archived date, null when nothing was archived yet
+    public LocalDate lastArchivedDate() {
+        Date date = jdbcTemplate.queryForObject("SELECT MAX(date) FROM " + SESSIONS_ARCHIVE, Date.class);
+        return date == null ? null : date.toLocalDate();
+    }
+
+    public List<TrainingSession> findByDateBetween(LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.query("SELECT * FROM " + SESSIONS_ARCHIVE + " WHERE date BETWEEN ? AND ? ORDER BY date, start_time",
+                ROW_MAPPER, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    public long countByDate(LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + SESSIONS_ARCHIVE + " WHERE date = ?", Long.class,
+                Date.valueOf(date));
+    }
+
+    public long countActiveSessions(LocalDate date, LocalTime currentTime) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + SESSIONS_ARCHIVE
+                + " WHERE date = ? AND start_time <= ? AND end_time >= ?", Long.class,
+                Date.valueOf(date), Time.valueOf(currentTime), Time.valueOf(currentTime));
+    }
+
+    // Same rows as TrainingSessionRepo.aggregateStats, over the archive
+    public List<SessionStatsRow> aggregateStats(LocalDate startDate, LocalDate endDate, LocalDate refDate, LocalTime refTime) {
+        Date ref = Date.valueOf(refDate);
+        Time time = Time.valueOf(refTime);
+        return jdbcTemplate.query("SELECT sport_name, session_type, COUNT(*) AS total, "
+                        + "SUM(CASE WHEN date = ? AND start_time <= ? AND end_time >= ? THEN 1 ELSE 0 END) AS active, "
+                        + "SUM(CASE WHEN date > ? OR (date = ? AND start_time > ?) THEN 1 ELSE 0 END) AS upcoming, "
+                        + "SUM(CASE WHEN date < ? OR (date = ? AND end_time < ?) THEN 1 ELSE 0 END) AS completed "
+                        + "FROM " + SESSIONS_ARCHIVE + " WHERE date BETWEEN ? AND ? GROUP BY sport_name, session_type",
+                (rs, i) -> {
+                    String type = rs.getString("session_type");
+                    return new ArchivedStatsRow(rs.getString("sport_name"), type == null ? null : SessionType.valueOf(type),
+                            rs.getLong("total"), rs.getLong("active"), rs.getLong("upcoming"), rs.getLong("completed"));
+                },
+                ref, time, time, ref, ref, time, ref, ref, time, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    // Next batch of live sessions older than the cutoff, keyset-paged on id
+    public List<Long> findIdsBefore(LocalDate cutoff, long afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + SESSIONS + " WHERE date < ? AND id > ? ORDER BY id LIMIT ?",
+                Long.class, Date.valueOf(cutoff), afterId, limit);
+    }
+
+    // Must run in a transaction: bookings are copied first, then deleting the sessions cascades to them
+    public int archive(List<Long> sessionIds) {
+        archiveTableSupport.copyRows(BOOKINGS, BOOKINGS_ARCHIVE, "session_id", sessionIds);
+        archiveTableSupport.deleteRows(BOOKINGS, "session_id", sessionIds);
+        archiveTableSupport.deleteRows("session_waitlist", "session_id", sessionIds);
+        archiveTableSupport.copyRows(SESSIONS, SESSIONS_ARCHIVE, "id", sessionIds);
+        return archiveTableSupport.deleteRows(SESSIONS, "id", sessionIds);
+    }
+
+    private record ArchivedStatsRow(String sportName, SessionType sessionType, Long total, Long active, Long upcoming,
+                                    Long completed) implements SessionStatsRow {
+        @Override
+        public String getSportName() {
+            return sportName;
+        }
+
+        @Override
+        public SessionType getSessionType() {
+            return sessionType;
+        }
+
+        @Override
+        public Long getTotal() {
+            return total;
+        }
+
+        @Override
+        public Long getActive() {
+            return active;
+        }
+
+        @Override
+        public Long getUpcoming() {
+            return upcoming;
+        }
+
+        @Override
+        public Long getCompleted() {
+            return completed;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.BackEnd.Master.GYM.repository;
+
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Types;
+import java.util.List;
+
+// Plain JDBC access for bulk paths, skipping the persistence context entirely; ids come from IdAllocator
+@Repository
+@RequiredArgsConstructor
+public class TrainingSessionBatchRepo {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO training_sessions (id, date, start_time, end_time, sport_name, session_type, max_participants) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RESCHEDULE_SQL =
+            "UPDATE training_sessions SET date = ?, start_time = ?, end_time = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+
+    @Value("${app.jdbc.batch-size:500}")
+    private int batchSize;
+
+    // Assigns the ids on the given sessions
+    public int insertAll(List<TrainingSession> sessions) {
+        long[] ids = idAllocator.next(TrainingSession.class, sessions.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            sessions.get(i).setId(ids[i]);
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, sessions, batchSize, (ps, s) -> {
+            ps.setLong(1, s.getId());
+            ps.setDate(2, Date.valueOf(s.getDate()));
+            ps.setTime(3, Time.valueOf(s.getStartTime()));
+            ps.setTime(4, Time.valueOf(s.getEndTime()));
+            ps.setString(5, s.getSportName());
+            ps.setString(6, s.getSessionType() == null ? null : s.getSessionType().name());
+            if (s.getMaxParticipants() == null) {
+                ps.setNull(7, Types.INTEGER);
+            } else {
+                ps.setInt(7, s.getMaxParticipants());
+            }
+        });
+        return countRows(counts, sessions.size());
+    }
+
+    public int rescheduleAll(List<TrainingSession> sessions) {
+        int[][] counts = jdbcTemplate.batchUpdate(RESCHEDULE_SQL, sessions, batchSize, (ps, s) -> {
+            ps.setDate(1, Date.valueOf(s.getDate()));
+            ps.setTime(2, Time.valueOf(s.getStartTime()));
+            ps.setTime(3, Time.valueOf(s.getEndTime()));
+            ps.setLong(4, s.getId());
+        });
+        return countRows(counts, sessions.size());
+    }
+
+    // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+    private int countRows(int[][] counts, int expected) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) {
+                total += c < 0 ? 1 : c;
+            }
+        }
+        return Math.min(total, expected);
+    }
+}
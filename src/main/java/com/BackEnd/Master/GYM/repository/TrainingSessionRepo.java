@@ -1,12 +1,16 @@
 package com.BackEnd.Master.GYM.repository;
 
 import com.BackEnd.Master.GYM.entity.TrainingSession;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +18,15 @@ public interface TrainingSessionRepo extends JpaRepository<TrainingSession, Long
     List<TrainingSession> findByDateBetween(LocalDate startDate, LocalDate endDate);
     List<TrainingSession> findByDate(LocalDate date);
 
+    // Bulk reschedule locks the rows it moves, so a concurrent delete waits until it commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TrainingSession t WHERE t.id IN :ids")
+    List<TrainingSession> lockAllById(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TrainingSession t WHERE t.date BETWEEN :startDate AND :endDate")
+    List<TrainingSession> lockByDateBetween(LocalDate startDate, LocalDate endDate);
+
     // Count all sessions today
     long countByDate(LocalDate date);
     
@@ -29,4 +42,32 @@ public interface TrainingSessionRepo extends JpaRepository<TrainingSession, Long
     @Query("SELECT COUNT(t) FROM TrainingSession t WHERE t.date = :date AND t.endTime < :currentTime")
     long countCompletedSessions(LocalDate date, LocalTime currentTime);
 
+    // Every dashboard counter in one round trip, split by sport and session type.
+    // Sessions before the reference instant are completed, after it upcoming, spanning it active.
+    @Query("SELECT t.sportName AS sportName, t.sessionType AS sessionType, COUNT(t) AS total, "
+            + "SUM(CASE WHEN t.date = :refDate AND t.startTime <= :refTime AND t.endTime >= :refTime THEN 1 ELSE 0 END) AS active, "
+            + "SUM(CASE WHEN t.date > :refDate OR (t.date = :refDate AND t.startTime > :refTime) THEN 1 ELSE 0 END) AS upcoming, "
+            + "SUM(CASE WHEN t.date < :refDate OR (t.date = :refDate AND t.endTime < :refTime) THEN 1 ELSE 0 END) AS completed "
+            + "FROM TrainingSession t WHERE t.date BETWEEN :startDate AND :endDate "
+            + "GROUP BY t.sportName, t.sessionType")
+    List<SessionStatsRow> aggregateStats(LocalDate startDate, LocalDate endDate, LocalDate refDate, LocalTime refTime);
+
+    interface SessionStatsRow {
+        String getSportName();
+        TrainingSession.SessionType getSessionType();
+        Long getTotal();
+        Long getActive();
+        Long getUpcoming();
+        Long getCompleted();
+    }
+
+    // Takes a seat only while the session still has room, returns 0 when it is full
+    @Modifying
+    @Query("UPDATE TrainingSession t SET t.bookedCount = t.bookedCount + 1 WHERE t.id = :id AND (t.maxParticipants IS NULL OR t.bookedCount < t.maxParticipants)")
+    int incrementBookedCount(Long id);
+
+    @Modifying
+    @Query("UPDATE TrainingSession t SET t.bookedCount = t.bookedCount - 1 WHERE t.id = :id AND t.bookedCount > 0")
+    int decrementBookedCount(Long id);
+
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.BackEnd.Master.GYM.repository;
 
 
+import java.time.LocalDate;
 import java.util.*;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.BackEnd.Master.GYM.entity.customer;
@@ -11,6 +14,7 @@ import com.BackEnd.Master.GYM.entity.customer;
 @Repository
 public interface customerRepo extends JpaRepository <customer,Long> {
 
+    @Query("select c from customer c where c.user.id = :id")
     List <customer> findByUserId(Long id);
     customer findByUserName(String userName);
 
@@ -19,4 +23,20 @@ public interface customerRepo extends JpaRepository <customer,Long> {
 
         long count();
 
+        @Query("select lower(c.userName) from customer c where c.userName is not null")
+        List<String> findAllUserNamesLowerCase();
+
+        @Query("select distinct c.pack from customer c where c.pack is not null")
+        List<String> findDistinctPacks();
+
+        // Keyset page of memberships ending in (from, to], ordered like idx_customers_date_fin
+        @Query("select c from customer c left join fetch c.user where c.dateFin > :from and c.dateFin <= :to "
+                + "and (c.dateFin > :afterDate or (c.dateFin = :afterDate and c.id > :afterId)) order by c.dateFin, c.id")
+        List<customer> findExpiringAfter(LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Limit limit);
+
+        // Keyset page of [id, pack, coach id, dateDebut, dateFin] for the segment index
+        @Query("select c.id, c.pack, u.id, c.dateDebut, c.dateFin from customer c left join c.user u "
+                + "where c.id > :afterId order by c.id")
+        List<Object[]> findSegmentFieldsAfter(Long afterId, Limit limit);
+
 }
@@ -0,0 +1,125 @@
+package com.BackEnd.Master.GYM.security;
+
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.index.CheckInRevocationIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Self-contained member check-in tokens, verified with one HMAC and no DB read:
+//   version(1) | customerId(8) | validFrom epochDay(4) | validTo epochDay(4) | issuedAt ms(8) | expiresAt ms(8) | mac(16)
+// base64url encoded. Tokens are short-lived (ttl-hours, never past the membership end) and the
+// only server state is the revocation index for memberships cancelled or shortened since issue.
+@Component
+public class CheckInTokens {
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 1 + 8 + 4 + 4 + 8 + 8;
+    private static final int MAC_LENGTH = 16;
+
+    private final SecretKeySpec key;
+    private final CheckInRevocationIndex revocationIndex;
+    private final ThreadLocal<Mac> macs;
+
+    @Value("${app.check-in-token.ttl-hours:24}")
+    private long ttlHours;
+
+    public CheckInTokens(SecretKeySpec checkInTokenKey, CheckInRevocationIndex revocationIndex) {
+        this.key = checkInTokenKey;
+        this.revocationIndex = revocationIndex;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public Token issue(customer entity) {
+        LocalDate today = LocalDate.now();
+        if (entity.getDateDebut() == null || entity.getDateFin() == null
+                || today.isBefore(entity.getDateDebut()) || today.isAfter(entity.getDateFin())) {
+            throw new InvalidEntityException("Membership is not active for customer " + entity.getId());
+        }
+        long issuedAt = System.currentTimeMillis();
+        long membershipEnd = epochMilli(entity.getDateFin().plusDays(1).atStartOfDay());
+        long expiresAt = Math.min(issuedAt + ttlHours * 3_600_000L, membershipEnd);
+
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH + MAC_LENGTH);
+        buffer.put(VERSION)
+                .putLong(entity.getId())
+                .putInt((int) entity.getDateDebut().toEpochDay())
+                .putInt((int) entity.getDateFin().toEpochDay())
+                .putLong(issuedAt)
+                .putLong(expiresAt);
+        buffer.put(sign(buffer.array()), 0, MAC_LENGTH);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        return new Token(token, entity.getId(), toLocalDateTime(expiresAt));
+    }
+
+    // Returns the customer id the token was issued for
+    public long verify(String token) {
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEntityException("Malformed check-in token");
+        }
+        if (raw.length != PAYLOAD_LENGTH + MAC_LENGTH || raw[0] != VERSION) {
+            throw new InvalidEntityException("Malformed check-in token");
+        }
+        byte[] expected = Arrays.copyOf(sign(raw), MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(raw, PAYLOAD_LENGTH, raw.length))) {
+            throw new InvalidEntityException("Invalid check-in token");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(raw, 1, PAYLOAD_LENGTH - 1);
+        long customerId = buffer.getLong();
+        long validFrom = buffer.getInt();
+        long validTo = buffer.getInt();
+        long issuedAt = buffer.getLong();
+        long expiresAt = buffer.getLong();
+
+        long today = LocalDate.now().toEpochDay();
+        if (System.currentTimeMillis() >= expiresAt || today < validFrom || today > validTo) {
+            throw new InvalidEntityException("Check-in token expired");
+        }
+        if (revocationIndex.isRevoked(customerId, issuedAt)) {
+            throw new InvalidEntityException("Check-in token revoked");
+        }
+        return customerId;
+    }
+
+    // MAC over the payload part of buf
+    private byte[] sign(byte[] buf) {
+        Mac mac = macs.get();
+        mac.update(buf, 0, PAYLOAD_LENGTH);
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Check-in token MAC unavailable", ex);
+        }
+    }
+
+    private static long epochMilli(LocalDateTime at) {
+        return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    public record Token(String token, Long customerId, LocalDateTime expiresAt) {
+    }
+}
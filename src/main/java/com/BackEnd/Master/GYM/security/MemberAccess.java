@@ -0,0 +1,51 @@
+package com.BackEnd.Master.GYM.security;
+
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.repository.SessionBookingRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// @PreAuthorize checks for the member-facing session endpoints: staff act for any member, a member only
+// for themselves, identified by their check-in token (members have no login)
+@Component("memberAccess")
+@RequiredArgsConstructor
+public class MemberAccess {
+    public static final String TOKEN_HEADER = "X-Check-In-Token";
+    private static final Set<String> STAFF = Set.of("ROLE_Admin", "ROLE_Coach");
+
+    private final CheckInTokens checkInTokens;
+    private final SessionBookingRepo sessionBookingRepo;
+
+    public boolean isStaff(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(STAFF::contains);
+    }
+
+    public boolean allows(Authentication authentication, Long customerId, String checkInToken) {
+        if (isStaff(authentication)) {
+            return true;
+        }
+        if (customerId == null || checkInToken == null || checkInToken.isBlank()) {
+            return false;
+        }
+        try {
+            return checkInTokens.verify(checkInToken) == customerId;
+        } catch (InvalidEntityException ex) {
+            return false;
+        }
+    }
+
+    // Unknown bookings are denied to members; staff get the service's 404
+    public boolean allowsBooking(Authentication authentication, Long bookingId, String checkInToken) {
+        if (isStaff(authentication)) {
+            return true;
+        }
+        return sessionBookingRepo.findById(bookingId)
+                .map(booking -> allows(authentication, booking.getCustomer().getId(), checkInToken))
+                .orElse(false);
+    }
+}
@@ -2,6 +2,7 @@ package com.BackEnd.Master.GYM.security;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +13,7 @@ import com.BackEnd.Master.GYM.repository.AppUserRepo;
 import java.util.Collections;
 
 @Service
-public class UserDetailsServiceApp implements UserDetailsService {
+public class UserDetailsServiceApp implements UserDetailsService, UserDetailsPasswordService {
 
     private final AppUserRepo appUserRepo;
 
@@ -36,4 +37,16 @@ public class UserDetailsServiceApp implements UserDetailsService {
                 Collections.singletonList(authority) // Liste des autorités
         );
     }
+
+    // Called after a successful login whose stored hash is below the configured BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AppUsers appUser = appUserRepo.findByUserName(user.getUsername());
+        if (appUser == null) {
+            return user;
+        }
+        appUser.setMotDePasse(newPassword);
+        appUserRepo.save(appUser);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
 }
@@ -0,0 +1,21 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.entity.CheckIn;
+import com.BackEnd.Master.GYM.security.CheckInTokens.Token;
+
+import java.util.List;
+
+public interface AttendanceService {
+
+    // Queues the check-in; true when it is already committed (ack durability), false when it will be written shortly
+    boolean checkIn(CheckIn checkIn);
+
+    // Same as checkIn, but the member is identified by a signed token and nothing is read from the DB
+    CheckIn checkInWithToken(String token, String source);
+
+    Token issueToken(Long customerId);
+
+    long currentOccupancy();
+
+    List<CheckIn> findByCustomer(Long customerId);
+}
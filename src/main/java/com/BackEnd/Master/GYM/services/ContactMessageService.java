@@ -1,5 +1,6 @@
 package com.BackEnd.Master.GYM.services;
 
+import com.BackEnd.Master.GYM.dto.BulkMessageChangeDto;
 import com.BackEnd.Master.GYM.entity.ContactMessage;
 import java.util.List;
 
@@ -10,7 +11,15 @@ public interface ContactMessageService {
     List<ContactMessage> searchMessages(String query);
     List<ContactMessage> searchMessagesByStatus(String status, String query);
     ContactMessage create(ContactMessage entity);
+    // Public form entry point: stored right away (sync mode) or queued, in which case the message is a
+    // copy taken before queueing and has no id
+    Submission submit(ContactMessage entity);
     ContactMessage updateStatus(Long id, String status);
     void deleteById(Long id);
+    int bulkUpdateStatus(BulkMessageChangeDto request);
+    int bulkDelete(BulkMessageChangeDto request);
     List<ContactMessage> getApprovedMessages();
+
+    record Submission(ContactMessage message, boolean queued) {
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package  com.BackEnd.Master.GYM.services.Impl;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import  com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
 import  com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
 
@@ -26,6 +27,7 @@ public class AppUserServiceImpl implements AppUserService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppUsers> findAll() {
         return appUserRepo.findAll();
     }
@@ -36,21 +38,25 @@ public class AppUserServiceImpl implements AppUserService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppUsers> findByRoleRoleName(String roleName) {
         return appUserRepo.findByRoleRoleName(roleName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long count() {
         return appUserRepo.count();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long countByRoleRoleName(String roleName) {
         return appUserRepo.countByRoleRoleName(roleName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppUsers> searchUsers(String query) {
         return appUserRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase(
                 query, query, query);
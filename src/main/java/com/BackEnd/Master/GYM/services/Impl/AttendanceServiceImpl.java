@@ -0,0 +1,150 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
+import com.BackEnd.Master.GYM.Exceptions.ServiceBusyException;
+import com.BackEnd.Master.GYM.entity.CheckIn;
+import com.BackEnd.Master.GYM.index.LiveOccupancyCounter;
+import com.BackEnd.Master.GYM.index.OccupancyHeatmap;
+import com.BackEnd.Master.GYM.repository.CheckInBatchRepo;
+import com.BackEnd.Master.GYM.repository.CheckInRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.security.CheckInTokens;
+import com.BackEnd.Master.GYM.security.CheckInTokens.Token;
+import com.BackEnd.Master.GYM.services.AttendanceService;
+import com.BackEnd.Master.GYM.util.WriteBehindQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Check-ins are buffered in memory and written in JDBC batches, so a burst at the turnstiles costs one
+// pooled connection per batch instead of one per member. Durability:
+//  - async: the request returns as soon as the check-in is queued; a crash loses what is still queued
+//  - ack:   the request waits (up to ack-timeout) for the batch holding it to commit
+// Token check-ins skip the customer lookup as well, so the turnstiles keep working while the DB is slow.
+@Service
+@RequiredArgsConstructor
+public class AttendanceServiceImpl implements AttendanceService {
+    private final CheckInRepo checkInRepo;
+    private final CheckInBatchRepo checkInBatchRepo;
+    private final customerRepo customerRepo;
+    private final LiveOccupancyCounter occupancyCounter;
+    private final OccupancyHeatmap occupancyHeatmap;
+    private final CheckInTokens checkInTokens;
+
+    @Value("${app.attendance.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${app.attendance.batch-size:500}")
+    private int batchSize;
+    @Value("${app.attendance.max-delay-ms:250}")
+    private long maxDelayMs;
+    @Value("${app.attendance.max-retries:3}")
+    private int maxRetries;
+    @Value("${app.attendance.durability:async}")
+    private String durability;
+    @Value("${app.attendance.ack-timeout-ms:2000}")
+    private long ackTimeoutMs;
+
+    private WriteBehindQueue<CheckIn> queue;
+    private boolean waitForAck;
+
+    @PostConstruct
+    void init() {
+        waitForAck = "ack".equals(durability.toLowerCase(Locale.ROOT));
+        queue = new WriteBehindQueue<>("check-ins", queueCapacity, batchSize, maxDelayMs, TimeUnit.MILLISECONDS,
+                maxRetries, checkInBatchRepo::insertAll);
+        queue.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        queue.stop(10, TimeUnit.SECONDS);
+    }
+
+    // Rebuilds the occupancy window from the check-ins already stored
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(occupancyCounter.windowMinutes());
+        checkInRepo.findCheckInTimesAfter(since).forEach(occupancyCounter::record);
+    }
+
+    @Override
+    public boolean checkIn(CheckIn checkIn) {
+        if (!customerRepo.existsById(checkIn.getCustomerId())) {
+            throw new EntityNotFoundException("customer not found with ID: " + checkIn.getCustomerId());
+        }
+        return enqueue(checkIn);
+    }
+
+    @Override
+    public CheckIn checkInWithToken(String token, String source) {
+        CheckIn checkIn = new CheckIn();
+        checkIn.setCustomerId(checkInTokens.verify(token));
+        checkIn.setSource(source);
+        // Never waits for the batch: the point of the token is not to depend on the DB
+        offer(checkIn);
+        return checkIn;
+    }
+
+    @Override
+    public Token issueToken(Long customerId) {
+        return checkInTokens.issue(customerRepo.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("customer not found with ID: " + customerId)));
+    }
+
+    private boolean enqueue(CheckIn checkIn) {
+        Future<Void> written = offer(checkIn);
+        if (!waitForAck) {
+            return false;
+        }
+        try {
+            written.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException ex) {
+            // Still queued, it will be written with its batch
+            return false;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Check-in could not be stored", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Future<Void> offer(CheckIn checkIn) {
+        if (checkIn.getCheckedInAt() == null) {
+            checkIn.setCheckedInAt(LocalDateTime.now());
+        }
+        Future<Void> written;
+        try {
+            written = queue.offer(checkIn);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceBusyException("Too many check-ins in flight, retry shortly", 1);
+        }
+        occupancyCounter.record(checkIn.getCheckedInAt());
+        occupancyHeatmap.recordCheckIn(checkIn.getCheckedInAt());
+        return written;
+    }
+
+    @Override
+    public long currentOccupancy() {
+        return occupancyCounter.current();
+    }
+
+    @Override
+    public List<CheckIn> findByCustomer(Long customerId) {
+        return checkInRepo.findTop100ByCustomerIdOrderByCheckedInAtDesc(customerId);
+    }
+}
@@ -2,20 +2,108 @@ package com.BackEnd.Master.GYM.services.Impl;
 
 import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
 import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.Exceptions.ServiceBusyException;
+import com.BackEnd.Master.GYM.dto.BulkMessageChangeDto;
 import com.BackEnd.Master.GYM.entity.ContactMessage;
 import com.BackEnd.Master.GYM.entity.MessageStatus;
+import com.BackEnd.Master.GYM.events.RowsRetiredEvent;
+import com.BackEnd.Master.GYM.index.ContactDedupIndex;
+import com.BackEnd.Master.GYM.repository.ContactMessageBatchRepo;
 import com.BackEnd.Master.GYM.repository.ContactMessageRepo;
 import com.BackEnd.Master.GYM.services.ContactMessageService;
+import com.BackEnd.Master.GYM.util.SpoolFile;
+import com.BackEnd.Master.GYM.util.WriteBehindQueue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+// Public form submissions are either inserted on the request thread (mode=sync) or validated, answered
+// and queued for batched inserts (mode=async). In async mode a message the queue cannot take, or whose
+// batch still fails after the retries, is appended to a local spool file and replayed once the queue has
+// room again, so a bot wave or a slow DB costs neither request threads nor messages. A batch the database
+// refuses is retried one message at a time; a message still refused goes to the dead-letter file
+// (contact-messages-dead.spool) instead of blocking the ones behind it.
+// Both paths drop repeats of recent messages (ContactDedupIndex) and count them on the original instead.
 @Service
 @RequiredArgsConstructor
 public class ContactMessageServiceImpl implements ContactMessageService {
+    private static final Logger log = LoggerFactory.getLogger(ContactMessageServiceImpl.class);
+    // Column sizes: name and email are varchar(255), message is TEXT
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int MAX_MESSAGE_BYTES = 65_535;
 
     private final ContactMessageRepo contactMessageRepo;
+    private final ContactMessageBatchRepo contactMessageBatchRepo;
+    private final ContactDedupIndex dedupIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.contact.ingest.mode:sync}")
+    private String mode;
+    @Value("${app.contact.ingest.queue-capacity:5000}")
+    private int queueCapacity;
+    @Value("${app.contact.ingest.batch-size:200}")
+    private int batchSize;
+    @Value("${app.contact.ingest.max-delay-ms:500}")
+    private long maxDelayMs;
+    @Value("${app.contact.ingest.max-retries:3}")
+    private int maxRetries;
+    @Value("${app.contact.ingest.spool-dir:${java.io.tmpdir}/megagym-spool}")
+    private String spoolDir;
+    @Value("${app.contact.approved-cache-seconds:60}")
+    private long approvedCacheSeconds;
+
+    private WriteBehindQueue<ContactMessage> queue;
+    private SpoolFile spool;
+    private SpoolFile deadLetters;
+    // Approved messages as shown on the public site, dropped by any status change or delete
+    private volatile ApprovedSnapshot approved;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!"async".equals(mode.toLowerCase(Locale.ROOT))) {
+            return;
+        }
+        spool = new SpoolFile(Paths.get(spoolDir), "contact-messages");
+        deadLetters = new SpoolFile(Paths.get(spoolDir), "contact-messages-dead");
+        queue = new WriteBehindQueue<>("contact-messages", queueCapacity, batchSize, maxDelayMs, TimeUnit.MILLISECONDS,
+                maxRetries, this::write);
+        queue.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException, IOException {
+        if (queue != null) {
+            queue.stop(10, TimeUnit.SECONDS);
+            spool.close();
+            deadLetters.close();
+        }
+    }
 
     @Override
     public ContactMessage findById(Long id) {
@@ -24,22 +112,26 @@ public class ContactMessageServiceImpl implements ContactMessageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ContactMessage> findAll() {
         return contactMessageRepo.findAllByOrderByCreatedAtDesc();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ContactMessage> findByStatus(String status) {
         return contactMessageRepo.findByStatus(MessageStatus.valueOf(status.toUpperCase()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ContactMessage> searchMessages(String query) {
         return contactMessageRepo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrMessageContainingIgnoreCase(
                 query, query, query);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ContactMessage> searchMessagesByStatus(String status, String query) {
         MessageStatus messageStatus = MessageStatus.valueOf(status.toUpperCase());
         return contactMessageRepo
@@ -49,8 +141,124 @@ public class ContactMessageServiceImpl implements ContactMessageService {
                         messageStatus, query);
     }
 
+    // A repeat is folded into the original and answered with a receipt of what was sent, without an id: near
+    // duplicates match on an email the caller chooses, so the stored original is never handed back
     @Override
     public ContactMessage create(ContactMessage entity) {
+        validate(entity);
+        entity.setStatus(MessageStatus.PENDING);
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(new Date());
+        }
+        ContactDedupIndex.Batch dedup = dedupIndex.newBatch();
+        Long original = dedup.findOriginal(entity);
+        if (original != null && contactMessageRepo.incrementDuplicateCount(original, 1) > 0) {
+            return receipt(entity);
+        }
+        ContactMessage saved = contactMessageRepo.save(entity);
+        dedup.accept(saved);
+        dedup.commit();
+        return saved;
+    }
+
+    // The queued entity belongs to the writer thread from offer() on (it sets the id), the caller gets a copy
+    @Override
+    public Submission submit(ContactMessage entity) {
+        if (queue == null) {
+            return new Submission(create(entity), false);
+        }
+        validate(entity);
+        entity.setId(null);
+        entity.setStatus(MessageStatus.PENDING);
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(new Date());
+        }
+        ContactMessage receipt = receipt(entity);
+        try {
+            queue.offer(entity).whenComplete((written, ex) -> {
+                if (ex != null) {
+                    spoolQuietly(entity);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            spool(entity);
+        }
+        return new Submission(receipt, true);
+    }
+
+    private static ContactMessage receipt(ContactMessage entity) {
+        ContactMessage receipt = new ContactMessage();
+        receipt.setName(entity.getName());
+        receipt.setEmail(entity.getEmail());
+        receipt.setMessage(entity.getMessage());
+        receipt.setStatus(entity.getStatus());
+        receipt.setCreatedAt(entity.getCreatedAt());
+        return receipt;
+    }
+
+    // Replays spooled messages while the queue is at most half full, straight to the batch insert. A chunk
+    // handed over twice (crash before its checkpoint) is caught by the exact-repeat filter: no second row,
+    // only one more on the original's duplicate count.
+    @Scheduled(fixedDelayString = "${app.contact.ingest.replay-ms:5000}")
+    public void replaySpool() {
+        if (queue == null || !spool.hasPending() || queue.size() > queue.capacity() / 2) {
+            return;
+        }
+        try {
+            int replayed = spool.replay(batchSize, lines -> {
+                List<ContactMessage> messages = parse(lines);
+                if (!messages.isEmpty()) {
+                    write(messages);
+                }
+            });
+            log.info("Replayed {} spooled contact messages", replayed);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Contact message spool replay stopped, retrying later: {}", ex.getMessage());
+        }
+    }
+
+    // A refused batch is split down to single messages, so one bad row cannot hold up the rest. Other
+    // failures (DB down, timeouts) propagate: the queue retries them and the spool keeps the messages.
+    private void write(List<ContactMessage> messages) {
+        try {
+            writeBatch(messages);
+        } catch (DataIntegrityViolationException ex) {
+            if (messages.size() == 1) {
+                deadLetter(messages.get(0), ex.getMostSpecificCause().getMessage());
+                return;
+            }
+            log.warn("Batch of {} contact messages refused, writing them one by one: {}", messages.size(),
+                    ex.getMostSpecificCause().getMessage());
+            for (ContactMessage message : messages) {
+                write(List.of(message));
+            }
+        }
+    }
+
+    // Ids are assigned first so a message can be the original of a later one in the same batch;
+    // they stick to the messages, so a retried batch gets the same ids and the same verdicts
+    private void writeBatch(List<ContactMessage> messages) {
+        contactMessageBatchRepo.assignIds(messages);
+        ContactDedupIndex.Batch dedup = dedupIndex.newBatch();
+        List<ContactMessage> fresh = new ArrayList<>(messages.size());
+        Map<Long, Integer> duplicates = new HashMap<>();
+        for (ContactMessage message : messages) {
+            Long original = dedup.findOriginal(message);
+            if (original == null) {
+                dedup.accept(message);
+                fresh.add(message);
+            } else {
+                duplicates.merge(original, 1, Integer::sum);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            contactMessageBatchRepo.insertAll(fresh);
+            duplicates.forEach(contactMessageRepo::incrementDuplicateCount);
+        });
+        dedup.commit();
+    }
+
+    private void validate(ContactMessage entity) {
         if (entity.getName() == null || entity.getName().isEmpty()) {
             throw new InvalidEntityException("Name cannot be empty");
         }
@@ -60,8 +268,78 @@ public class ContactMessageServiceImpl implements ContactMessageService {
         if (entity.getMessage() == null || entity.getMessage().isEmpty()) {
             throw new InvalidEntityException("Message cannot be empty");
         }
-        entity.setStatus(MessageStatus.PENDING);
-        return contactMessageRepo.save(entity);
+        if (entity.getName().length() > MAX_NAME_LENGTH) {
+            throw new InvalidEntityException("Name cannot be longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        if (entity.getEmail().length() > MAX_EMAIL_LENGTH) {
+            throw new InvalidEntityException("Email cannot be longer than " + MAX_EMAIL_LENGTH + " characters");
+        }
+        if (entity.getMessage().getBytes(StandardCharsets.UTF_8).length > MAX_MESSAGE_BYTES) {
+            throw new InvalidEntityException("Message is too long");
+        }
+    }
+
+    private void spool(ContactMessage entity) {
+        try {
+            spool.append(toLine(entity));
+        } catch (IOException ex) {
+            throw new ServiceBusyException("Too many messages in flight, retry shortly", 5);
+        }
+    }
+
+    // Kept for an operator to look at; never replayed
+    private void deadLetter(ContactMessage entity, String reason) {
+        log.error("Contact message from {} refused by the database, moved to the dead-letter file: {}", entity.getEmail(), reason);
+        try {
+            deadLetters.append(toLine(entity));
+        } catch (IOException ex) {
+            log.error("Contact message from {} lost, dead-letter file unavailable", entity.getEmail());
+        }
+    }
+
+    private String toLine(ContactMessage entity) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new SpooledMessage(entity.getName(), entity.getEmail(),
+                entity.getMessage(), entity.getCreatedAt().getTime()));
+    }
+
+    // Called from the writer thread when a batch is dropped; there is no caller left to tell
+    private void spoolQuietly(ContactMessage entity) {
+        try {
+            spool(entity);
+        } catch (ServiceBusyException ex) {
+            log.error("Contact message from {} lost, spool unavailable", entity.getEmail());
+        }
+    }
+
+    // A line torn by a crash mid-append is skipped; messages spooled before a validation rule existed are
+    // dead-lettered here rather than failing their chunk
+    private List<ContactMessage> parse(List<String> lines) {
+        List<ContactMessage> messages = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            SpooledMessage spooled;
+            try {
+                spooled = objectMapper.readValue(line, SpooledMessage.class);
+            } catch (JsonProcessingException ex) {
+                log.warn("Skipping unreadable spooled contact message: {}", ex.getOriginalMessage());
+                continue;
+            }
+            ContactMessage message = new ContactMessage();
+            message.setName(spooled.name());
+            message.setEmail(spooled.email());
+            message.setMessage(spooled.message());
+            message.setStatus(MessageStatus.PENDING);
+            message.setCreatedAt(new Date(spooled.createdAt()));
+            try {
+                validate(message);
+                messages.add(message);
+            } catch (InvalidEntityException ex) {
+                deadLetter(message, ex.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    private record SpooledMessage(String name, String email, String message, long createdAt) {
     }
 
     @Override
@@ -70,16 +348,112 @@ public class ContactMessageServiceImpl implements ContactMessageService {
                 .orElseThrow(() -> new EntityNotFoundException("Message not found with ID: " + id));
         
         message.setStatus(MessageStatus.fromString(status));
-        return contactMessageRepo.save(message);
+        ContactMessage saved = contactMessageRepo.save(message);
+        approved = null;
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
         contactMessageRepo.deleteById(id);
+        dedupIndex.forget(List.of(id));
+        approved = null;
+    }
+
+    @Override
+    public int bulkUpdateStatus(BulkMessageChangeDto request) {
+        if (request.getStatus() == null) {
+            throw new InvalidEntityException("A target status is required");
+        }
+        MessageStatus target = parseStatus(request.getStatus());
+        int updated;
+        if (hasIds(request)) {
+            updated = contactMessageRepo.updateStatusByIds(request.getIds(), target);
+        } else {
+            requireFilter(request);
+            updated = contactMessageRepo.updateStatusMatching(currentStatus(request), likePattern(request),
+                    createdBefore(request), target);
+        }
+        approved = null;
+        return updated;
+    }
+
+    // Filtered deletes resolve the ids first, the duplicate filter has to forget them
+    @Override
+    public int bulkDelete(BulkMessageChangeDto request) {
+        List<Long> ids;
+        if (hasIds(request)) {
+            ids = request.getIds();
+        } else {
+            requireFilter(request);
+            ids = contactMessageRepo.findIdsMatching(currentStatus(request), likePattern(request), createdBefore(request));
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = contactMessageRepo.deleteByIds(ids);
+        dedupIndex.forget(ids);
+        approved = null;
+        return deleted;
+    }
+
+    // Purged or archived by the retention job
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRowsRetired(RowsRetiredEvent event) {
+        if (event.isFor("contact_messages")) {
+            dedupIndex.forget(event.getIds());
+            approved = null;
+        }
     }
 
     @Override
     public List<ContactMessage> getApprovedMessages() {
-        return contactMessageRepo.findByStatus(MessageStatus.APPROVED);
+        ApprovedSnapshot snapshot = approved;
+        if (snapshot == null || System.nanoTime() - snapshot.loadedAt() > TimeUnit.SECONDS.toNanos(approvedCacheSeconds)) {
+            snapshot = new ApprovedSnapshot(List.copyOf(contactMessageRepo.findByStatus(MessageStatus.APPROVED)), System.nanoTime());
+            approved = snapshot;
+        }
+        return snapshot.messages();
+    }
+
+    private static boolean hasIds(BulkMessageChangeDto request) {
+        return request.getIds() != null && !request.getIds().isEmpty();
+    }
+
+    // Refuses a request that would touch every message by accident
+    private static void requireFilter(BulkMessageChangeDto request) {
+        if (request.getCurrentStatus() == null && (request.getQuery() == null || request.getQuery().isBlank())
+                && request.getCreatedBefore() == null) {
+            throw new InvalidEntityException("Select messages by ids or by currentStatus, query or createdBefore");
+        }
+    }
+
+    private static MessageStatus parseStatus(String status) {
+        try {
+            return MessageStatus.fromString(status);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEntityException("Unknown message status: " + status);
+        }
+    }
+
+    private static MessageStatus currentStatus(BulkMessageChangeDto request) {
+        return request.getCurrentStatus() == null ? null : parseStatus(request.getCurrentStatus());
+    }
+
+    private static String likePattern(BulkMessageChangeDto request) {
+        if (request.getQuery() == null || request.getQuery().isBlank()) {
+            return null;
+        }
+        String escaped = request.getQuery().trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static Date createdBefore(BulkMessageChangeDto request) {
+        return request.getCreatedBefore() == null ? null
+                : Date.from(request.getCreatedBefore().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private record ApprovedSnapshot(List<ContactMessage> messages, long loadedAt) {
     }
 }
\ No newline at end of file
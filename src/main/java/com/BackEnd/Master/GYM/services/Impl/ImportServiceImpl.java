@@ -0,0 +1,467 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.entity.AppUsers;
+import com.BackEnd.Master.GYM.entity.ImportJob;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportStatus;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportType;
+import com.BackEnd.Master.GYM.entity.ImportRowError;
+import com.BackEnd.Master.GYM.entity.Roles;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.events.CustomerChangedEvent;
+import com.BackEnd.Master.GYM.repository.AppUserRepo;
+import com.BackEnd.Master.GYM.repository.IdAllocator;
+import com.BackEnd.Master.GYM.repository.ImportBatchRepo;
+import com.BackEnd.Master.GYM.repository.ImportJobRepo;
+import com.BackEnd.Master.GYM.repository.ImportRowErrorRepo;
+import com.BackEnd.Master.GYM.repository.RolesRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.services.ImportService;
+import com.BackEnd.Master.GYM.util.CsvReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// CSV imports run one at a time on a background thread. Each chunk of records is validated in parallel
+// (password hashing dominates for staff), then inserted with pre-allocated ids through JDBC batches in
+// the same transaction that advances the job checkpoint, so a restarted job resumes exactly where the
+// last committed chunk ended.
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+    private static final Logger log = LoggerFactory.getLogger(ImportServiceImpl.class);
+    private static final String DEFAULT_PROFILE_IMAGE = "default.png";
+    private static final String DEFAULT_STAFF_ROLE = "ROLE_Coach";
+    private static final Map<ImportType, List<String>> REQUIRED_COLUMNS = Map.of(
+            ImportType.CUSTOMERS, List.of("username", "datedebut", "datefin", "userid"),
+            ImportType.USERS, List.of("username", "password"));
+
+    private final ImportJobRepo importJobRepo;
+    private final ImportRowErrorRepo importRowErrorRepo;
+    private final ImportBatchRepo importBatchRepo;
+    private final IdAllocator idAllocator;
+    private final AppUserRepo appUserRepo;
+    private final customerRepo customerRepo;
+    private final RolesRepo rolesRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.dir:${java.io.tmpdir}/megagym-imports}")
+    private String importDir;
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${app.import.max-stored-errors:1000}")
+    private int maxStoredErrors;
+    @Value("${app.import.auto-resume:true}")
+    private boolean autoResume;
+
+    private ExecutorService runner;
+    private ExecutorService validators;
+    private int validatorCount;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "csv-import"));
+        validatorCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        validators = Executors.newFixedThreadPool(validatorCount, r -> {
+            Thread thread = new Thread(r, "csv-import-validate-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+        validators.shutdownNow();
+    }
+
+    @Override
+    public ImportJob start(ImportType type, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidEntityException("CSV file is required");
+        }
+        ImportJob job = new ImportJob();
+        job.setType(type);
+        job.setStatus(ImportStatus.PENDING);
+        job.setFileName(file.getOriginalFilename());
+        job.setCreatedAt(LocalDateTime.now());
+        job = importJobRepo.save(job);
+
+        Path target = Paths.get(importDir).resolve("import-" + job.getId() + ".csv").normalize();
+        try (InputStream in = file.getInputStream()) {
+            Files.createDirectories(target.getParent());
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            job.setStatus(ImportStatus.FAILED);
+            job.setErrorMessage("Could not store upload: " + ex.getMessage());
+            return importJobRepo.save(job);
+        }
+        job.setStoredPath(target.toString());
+        job = importJobRepo.save(job);
+        submit(job.getId());
+        return job;
+    }
+
+    @Override
+    public ImportJob resume(Long id) {
+        ImportJob job = findById(id);
+        if (job.getStatus() != ImportStatus.FAILED && job.getStatus() != ImportStatus.INTERRUPTED) {
+            throw new InvalidEntityException("Only failed or interrupted imports can be resumed");
+        }
+        job.setStatus(ImportStatus.PENDING);
+        job.setErrorMessage(null);
+        job = importJobRepo.save(job);
+        submit(job.getId());
+        return job;
+    }
+
+    @Override
+    public ImportJob findById(Long id) {
+        return importJobRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Import job not found with ID: " + id));
+    }
+
+    @Override
+    public List<ImportJob> findRecent() {
+        return importJobRepo.findTop50ByOrderByIdDesc();
+    }
+
+    @Override
+    public List<ImportRowError> findErrors(Long id, int page, int size) {
+        findById(id);
+        return importRowErrorRepo.findByJobIdOrderByRowNumber(id, PageRequest.of(page, Math.min(size, 1000)));
+    }
+
+    // Jobs still marked running were cut off by a shutdown or crash
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedJobs() {
+        for (ImportJob job : importJobRepo.findByStatusIn(EnumSet.of(ImportStatus.PENDING, ImportStatus.RUNNING))) {
+            job.setStatus(ImportStatus.INTERRUPTED);
+            importJobRepo.save(job);
+            if (autoResume) {
+                log.info("Resuming import job {} after record {}", job.getId(), job.getProcessedRows());
+                resume(job.getId());
+            }
+        }
+    }
+
+    private void submit(Long jobId) {
+        runner.execute(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        ImportJob job = findById(jobId);
+        job.setStatus(ImportStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = importJobRepo.save(job);
+        try {
+            job = job.getType() == ImportType.CUSTOMERS ? process(job, new CustomerRows()) : process(job, new UserRows());
+            job.setStatus(ImportStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            importJobRepo.save(job);
+            Files.deleteIfExists(Paths.get(job.getStoredPath()));
+            log.info("Import job {} done: {} inserted, {} rejected", job.getId(), job.getInsertedRows(), job.getFailedRows());
+        } catch (Exception ex) {
+            log.error("Import job {} failed after record {}", jobId, job.getProcessedRows(), ex);
+            ImportJob failed = findById(jobId);
+            failed.setStatus(ImportStatus.FAILED);
+            failed.setErrorMessage(truncate(String.valueOf(ex.getMessage()), 1000));
+            importJobRepo.save(failed);
+        }
+    }
+
+    private <T> ImportJob process(ImportJob job, RowHandler<T> handler) throws IOException {
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(Paths.get(job.getStoredPath()), StandardCharsets.UTF_8))) {
+            List<String> missing = REQUIRED_COLUMNS.get(job.getType()).stream()
+                    .filter(column -> !csv.header().contains(column))
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new InvalidEntityException("Missing CSV columns: " + missing);
+            }
+            csv.skip(job.getProcessedRows());
+            handler.prepare();
+
+            List<Map<String, String>> records = new ArrayList<>(chunkSize);
+            while (true) {
+                records.clear();
+                long firstRow = csv.recordNumber() + 1;
+                Map<String, String> record;
+                while (records.size() < chunkSize && (record = csv.next()) != null) {
+                    records.add(record);
+                }
+                if (records.isEmpty()) {
+                    return job;
+                }
+                job = commitChunk(job, records.size(), validate(records, firstRow, handler), handler);
+            }
+        }
+    }
+
+    private <T> ChunkResult<T> validate(List<Map<String, String>> records, long firstRow, RowHandler<T> handler) {
+        int slice = (records.size() + validatorCount - 1) / validatorCount;
+        List<CompletableFuture<List<Object>>> futures = new ArrayList<>();
+        for (int from = 0; from < records.size(); from += slice) {
+            List<Map<String, String>> part = records.subList(from, Math.min(records.size(), from + slice));
+            long partFirstRow = firstRow + from;
+            futures.add(CompletableFuture.supplyAsync(() -> parseAll(part, partFirstRow, handler::parse), validators));
+        }
+
+        // Cross-row checks (duplicates) run afterwards in file order so results don't depend on thread timing
+        ChunkResult<T> result = new ChunkResult<>();
+        long row = firstRow;
+        for (CompletableFuture<List<Object>> future : futures) {
+            for (Object parsed : future.join()) {
+                if (parsed instanceof String error) {
+                    result.errors.add(rowError(row, error));
+                } else {
+                    @SuppressWarnings("unchecked")
+                    T entity = (T) parsed;
+                    String rejection = handler.claim(entity);
+                    if (rejection == null) {
+                        result.rows.add(entity);
+                    } else {
+                        result.errors.add(rowError(row, rejection));
+                    }
+                }
+                row++;
+            }
+        }
+        return result;
+    }
+
+    // Parsed entity, or the error message for the row
+    private static <T> List<Object> parseAll(List<Map<String, String>> records, long firstRow, Function<Map<String, String>, T> parser) {
+        List<Object> parsed = new ArrayList<>(records.size());
+        for (Map<String, String> record : records) {
+            try {
+                parsed.add(parser.apply(record));
+            } catch (InvalidEntityException ex) {
+                parsed.add(ex.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    private <T> ImportJob commitChunk(ImportJob job, int records, ChunkResult<T> result, RowHandler<T> handler) {
+        long storedErrors = job.getFailedRows();
+        return transactionTemplate.execute(status -> {
+            if (!result.rows.isEmpty()) {
+                handler.insert(result.rows);
+            }
+            List<ImportRowError> errors = result.errors.stream()
+                    .limit(Math.max(0, maxStoredErrors - storedErrors))
+                    .peek(error -> error.setJob(job))
+                    .toList();
+            importRowErrorRepo.saveAll(errors);
+            job.setProcessedRows(job.getProcessedRows() + records);
+            job.setInsertedRows(job.getInsertedRows() + result.rows.size());
+            job.setFailedRows(job.getFailedRows() + result.errors.size());
+            return importJobRepo.save(job);
+        });
+    }
+
+    private static ImportRowError rowError(long row, String message) {
+        ImportRowError error = new ImportRowError();
+        error.setRowNumber(row);
+        error.setMessage(truncate(message, 500));
+        return error;
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static String required(Map<String, String> record, String column) {
+        String value = record.get(column);
+        if (value == null || value.isBlank()) {
+            throw new InvalidEntityException(column + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> record, String column) {
+        String value = record.get(column);
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static LocalDate date(Map<String, String> record, String column) {
+        String value = required(record, column);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidEntityException(column + " must be yyyy-MM-dd, got '" + value + "'");
+        }
+    }
+
+    private static String email(Map<String, String> record) {
+        String email = optional(record, "email");
+        if (email != null && !email.contains("@")) {
+            throw new InvalidEntityException("Invalid email '" + email + "'");
+        }
+        return email;
+    }
+
+    private static final class ChunkResult<T> {
+        final List<T> rows = new ArrayList<>();
+        final List<ImportRowError> errors = new ArrayList<>();
+    }
+
+    private interface RowHandler<T> {
+        // Loads the lookup caches, on the import thread before any chunk
+        void prepare();
+
+        // Runs on validator threads: must only read the caches
+        T parse(Map<String, String> record);
+
+        // Sequential, in file order; returns a rejection message or null
+        String claim(T entity);
+
+        void insert(List<T> rows);
+    }
+
+    private final class CustomerRows implements RowHandler<customer> {
+        private Set<Long> coachIds;
+        private Set<String> userNames;
+
+        @Override
+        public void prepare() {
+            coachIds = new HashSet<>(appUserRepo.findAllIds());
+            userNames = new HashSet<>(customerRepo.findAllUserNamesLowerCase());
+        }
+
+        @Override
+        public customer parse(Map<String, String> record) {
+            customer entity = new customer();
+            entity.setUserName(required(record, "username"));
+            entity.setEmail(email(record));
+            entity.setTelephone(optional(record, "telephone"));
+            entity.setPack(optional(record, "pack"));
+            entity.setMontPay(optional(record, "montpay"));
+            entity.setProfileImage(DEFAULT_PROFILE_IMAGE);
+            entity.setDateDebut(date(record, "datedebut"));
+            entity.setDateFin(date(record, "datefin"));
+            if (entity.getDateFin().isBefore(entity.getDateDebut())) {
+                throw new InvalidEntityException("dateFin is before dateDebut");
+            }
+            Long coachId;
+            try {
+                coachId = Long.valueOf(required(record, "userid"));
+            } catch (NumberFormatException ex) {
+                throw new InvalidEntityException("userId must be a number");
+            }
+            if (!coachIds.contains(coachId)) {
+                throw new InvalidEntityException("User not found with ID: " + coachId);
+            }
+            AppUsers coach = new AppUsers();
+            coach.setId(coachId);
+            entity.setUser(coach);
+            return entity;
+        }
+
+        @Override
+        public String claim(customer entity) {
+            return userNames.add(entity.getUserName().toLowerCase(Locale.ROOT))
+                    ? null
+                    : "userName '" + entity.getUserName() + "' already exists";
+        }
+
+        @Override
+        public void insert(List<customer> rows) {
+            long[] ids = idAllocator.next(customer.class, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).setId(ids[i]);
+            }
+            importBatchRepo.insertCustomers(rows);
+            // Delivered when the chunk commits
+            rows.forEach(row -> eventPublisher.publishEvent(CustomerChangedEvent.saved(row)));
+        }
+    }
+
+    private final class UserRows implements RowHandler<AppUsers> {
+        private Map<String, Roles> rolesByName;
+        private Set<String> userNames;
+
+        @Override
+        public void prepare() {
+            rolesByName = rolesRepo.findAll().stream()
+                    .collect(Collectors.toMap(r -> r.getRoleName().toLowerCase(Locale.ROOT), r -> r, (a, b) -> a));
+            userNames = new HashSet<>(appUserRepo.findAllUserNamesLowerCase());
+        }
+
+        @Override
+        public AppUsers parse(Map<String, String> record) {
+            AppUsers user = new AppUsers();
+            user.setUserName(required(record, "username"));
+            user.setEmail(email(record));
+            user.setTelephone(optional(record, "telephone"));
+            user.setDescription(optional(record, "description"));
+            user.setProfileImage(DEFAULT_PROFILE_IMAGE);
+
+            String roleName = optional(record, "role");
+            roleName = roleName == null ? DEFAULT_STAFF_ROLE : roleName;
+            String key = roleName.toLowerCase(Locale.ROOT);
+            Roles role = rolesByName.getOrDefault(key, rolesByName.get("role_" + key));
+            if (role == null) {
+                throw new InvalidEntityException("Unknown role '" + roleName + "'");
+            }
+            user.setRole(role);
+            user.setMotDePasse(passwordEncoder.encode(required(record, "password")));
+            return user;
+        }
+
+        @Override
+        public String claim(AppUsers user) {
+            return userNames.add(user.getUserName().toLowerCase(Locale.ROOT))
+                    ? null
+                    : "userName '" + user.getUserName() + "' already exists";
+        }
+
+        @Override
+        public void insert(List<AppUsers> rows) {
+            long[] ids = idAllocator.next(AppUsers.class, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).setId(ids[i]);
+            }
+            importBatchRepo.insertUsers(rows);
+        }
+    }
+}
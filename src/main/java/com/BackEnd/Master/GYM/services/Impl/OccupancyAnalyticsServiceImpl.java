@@ -0,0 +1,191 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.dto.OccupancyHeatmapDto;
+import com.BackEnd.Master.GYM.entity.OccupancyRollup;
+import com.BackEnd.Master.GYM.entity.OccupancyRollup.Metric;
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.index.OccupancyHeatmap;
+import com.BackEnd.Master.GYM.repository.OccupancyRollupRepo;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.services.OccupancyAnalyticsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Busy-hours heatmap served from one 168-counter row per metric and week, never from the raw rows.
+// Live traffic accumulates in OccupancyHeatmap and is added to the rows every flush-ms; the rows are
+// backfilled once from check_ins and session_bookings when the table is empty.
+@Service
+@RequiredArgsConstructor
+public class OccupancyAnalyticsServiceImpl implements OccupancyAnalyticsService {
+    private static final Logger log = LoggerFactory.getLogger(OccupancyAnalyticsServiceImpl.class);
+    private static final int MAX_REPORT_WEEKS = 260;
+
+    private final OccupancyRollupRepo occupancyRollupRepo;
+    private final TrainingSessionRepo trainingSessionRepo;
+    private final OccupancyHeatmap heatmap;
+    private final PlatformTransactionManager transactionManager;
+
+    // The heatmap only sees traffic from this point on, older rows are left to the backfill
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    // Flushes run one at a time; a lock rather than synchronized, the flush waits on JDBC
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (occupancyRollupRepo.count() > 0) {
+            return;
+        }
+        Map<LocalDate, int[]> checkIns = bucket(occupancyRollupRepo.countCheckInsByHour(startedAt));
+        Map<LocalDate, int[]> bookings = bucket(occupancyRollupRepo.countBookingsByHour(startedAt));
+        transaction.executeWithoutResult(status -> {
+            add(Metric.CHECK_INS, checkIns);
+            add(Metric.BOOKINGS, bookings);
+        });
+        if (!checkIns.isEmpty() || !bookings.isEmpty()) {
+            log.info("Occupancy rollups backfilled: {} check-in weeks, {} booking weeks", checkIns.size(), bookings.size());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.analytics.occupancy.flush-ms:60000}",
+            initialDelayString = "${app.analytics.occupancy.flush-ms:60000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<LocalDate, int[]> checkIns = heatmap.drainCheckIns();
+            Map<Long, Integer> bookingDeltas = heatmap.drainBookings();
+            if (checkIns.isEmpty() && bookingDeltas.isEmpty()) {
+                return;
+            }
+            try {
+                Map<LocalDate, int[]> bookings = bucketBookings(bookingDeltas);
+                transaction.executeWithoutResult(status -> {
+                    add(Metric.CHECK_INS, checkIns);
+                    add(Metric.BOOKINGS, bookings);
+                });
+            } catch (RuntimeException ex) {
+                heatmap.restore(checkIns, bookingDeltas);
+                log.warn("Occupancy rollup flush failed, retrying on next run", ex);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OccupancyHeatmapDto heatmap(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new InvalidEntityException("from must be on or before to");
+        }
+        LocalDate fromWeek = OccupancyHeatmap.weekStart(from);
+        LocalDate toWeek = OccupancyHeatmap.weekStart(to);
+        int weeks = (int) ChronoUnit.WEEKS.between(fromWeek, toWeek) + 1;
+        if (weeks > MAX_REPORT_WEEKS) {
+            throw new InvalidEntityException("Report range cannot exceed " + MAX_REPORT_WEEKS + " weeks");
+        }
+
+        int[] checkIns = new int[OccupancyHeatmap.HOURS];
+        int[] bookings = new int[OccupancyHeatmap.HOURS];
+        for (OccupancyRollup rollup : occupancyRollupRepo.findByWeekStartBetween(fromWeek, toWeek)) {
+            addInto(rollup.getMetric() == Metric.CHECK_INS ? checkIns : bookings, OccupancyHeatmap.unpack(rollup.getCounts()));
+        }
+        for (LocalDate week = fromWeek; !week.isAfter(toWeek); week = week.plusWeeks(1)) {
+            addInto(checkIns, heatmap.pendingCheckIns(week));
+        }
+
+        OccupancyHeatmapDto dto = new OccupancyHeatmapDto();
+        dto.setFromWeek(fromWeek);
+        dto.setToWeek(toWeek);
+        dto.setWeeks(weeks);
+        dto.setCheckIns(byDay(checkIns));
+        dto.setBookings(byDay(bookings));
+        return dto;
+    }
+
+    // Caller holds the transaction; rows are locked while their counters are added
+    private void add(Metric metric, Map<LocalDate, int[]> deltas) {
+        deltas.forEach((week, delta) -> {
+            OccupancyRollup rollup = occupancyRollupRepo.findByMetricAndWeekStart(metric, week)
+                    .orElseGet(() -> new OccupancyRollup(null, metric, week, null));
+            int[] counts = OccupancyHeatmap.unpack(rollup.getCounts());
+            addInto(counts, delta);
+            rollup.setCounts(OccupancyHeatmap.pack(counts));
+            occupancyRollupRepo.save(rollup);
+        });
+    }
+
+    // Sessions deleted (or archived) since their bookings changed have no hour to land in and are dropped
+    private Map<LocalDate, int[]> bucketBookings(Map<Long, Integer> deltas) {
+        Map<LocalDate, int[]> byWeek = new HashMap<>();
+        if (deltas.isEmpty()) {
+            return byWeek;
+        }
+        for (TrainingSession session : trainingSessionRepo.findAllById(deltas.keySet())) {
+            if (session.getDate() == null || session.getStartTime() == null) {
+                continue;
+            }
+            int[] counts = byWeek.computeIfAbsent(OccupancyHeatmap.weekStart(session.getDate()),
+                    w -> new int[OccupancyHeatmap.HOURS]);
+            counts[OccupancyHeatmap.hourOfWeek(session.getDate(), session.getStartTime().getHour())] += deltas.get(session.getId());
+        }
+        return byWeek;
+    }
+
+    // Rows of [date, hour, count]
+    private static Map<LocalDate, int[]> bucket(List<Object[]> rows) {
+        Map<LocalDate, int[]> byWeek = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDate date = row[0] instanceof Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) row[0];
+            int hour = ((Number) row[1]).intValue();
+            int[] counts = byWeek.computeIfAbsent(OccupancyHeatmap.weekStart(date), w -> new int[OccupancyHeatmap.HOURS]);
+            counts[OccupancyHeatmap.hourOfWeek(date, hour)] += ((Number) row[2]).intValue();
+        }
+        return byWeek;
+    }
+
+    private static void addInto(int[] target, int[] delta) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += delta[i];
+        }
+    }
+
+    private static int[][] byDay(int[] counts) {
+        int[][] days = new int[7][24];
+        for (int i = 0; i < counts.length; i++) {
+            days[i / 24][i % 24] = counts[i];
+        }
+        return days;
+    }
+}
@@ -0,0 +1,99 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.entity.Pack;
+import com.BackEnd.Master.GYM.repository.PackRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.services.PackService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PackServiceImpl implements PackService {
+    private static final Logger log = LoggerFactory.getLogger(PackServiceImpl.class);
+
+    private final PackRepo packRepo;
+    private final customerRepo customerRepo;
+
+    @Override
+    public Pack findById(Long id) {
+        return packRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pack not found with ID: " + id));
+    }
+
+    @Override
+    public List<Pack> findAll() {
+        return packRepo.findAll();
+    }
+
+    @Override
+    public List<Pack> findActive() {
+        return packRepo.findByActiveTrueOrderByName();
+    }
+
+    @Override
+    public Pack create(Pack entity) {
+        validatePack(entity);
+        if (packRepo.findByNameIgnoreCase(entity.getName().trim()).isPresent()) {
+            throw new InvalidEntityException("Pack already exists: " + entity.getName());
+        }
+        entity.setId(null);
+        entity.setName(entity.getName().trim());
+        return packRepo.save(entity);
+    }
+
+    @Override
+    public Pack update(Long id, Pack entity) {
+        validatePack(entity);
+        Pack current = findById(id);
+        packRepo.findByNameIgnoreCase(entity.getName().trim())
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new InvalidEntityException("Pack already exists: " + entity.getName());
+                });
+        current.setName(entity.getName().trim());
+        current.setPriceMinor(entity.getPriceMinor());
+        current.setDurationDays(entity.getDurationDays());
+        current.setActive(entity.isActive());
+        return packRepo.save(current);
+    }
+
+    // Seeds the catalog once from the free-text customer.pack values already in use
+    @EventListener(ApplicationReadyEvent.class)
+    public void importLegacyPacks() {
+        if (packRepo.count() > 0) {
+            return;
+        }
+        List<Pack> packs = customerRepo.findDistinctPacks().stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .map(name -> {
+                    Pack pack = new Pack();
+                    pack.setName(name);
+                    return pack;
+                })
+                .toList();
+        packRepo.saveAll(packs);
+        if (!packs.isEmpty()) {
+            log.info("Imported {} packs from existing customers", packs.size());
+        }
+    }
+
+    private void validatePack(Pack entity) {
+        if (entity.getName() == null || entity.getName().isBlank()) {
+            throw new InvalidEntityException("Pack name cannot be empty.");
+        }
+        if (entity.getPriceMinor() != null && entity.getPriceMinor() < 0) {
+            throw new InvalidEntityException("Pack price cannot be negative.");
+        }
+    }
+}
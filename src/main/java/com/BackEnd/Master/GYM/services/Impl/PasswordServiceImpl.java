@@ -0,0 +1,120 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.ServiceBusyException;
+import com.BackEnd.Master.GYM.services.PasswordService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt costs ~100 ms of CPU per call. Hashes and checks run on a fixed pool of hashing threads (one per
+// core by default) behind a queue of queue-depth (by default 4 per thread, so a wait stays well under a
+// second); past that the caller gets a 503 right away, so a login storm costs a bounded amount of CPU
+// and the request threads never spin on it.
+// Metrics: password.hash.active, password.hash.queued, password.hash.rejected
+@Service
+public class PasswordServiceImpl implements PasswordService {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final PasswordEncoder encoder = new BoundedEncoder();
+
+    public PasswordServiceImpl(PasswordEncoder passwordEncoder,
+                               @Value("${app.password.hashing-threads:0}") int threads,
+                               @Value("${app.password.queue-depth:0}") int queueDepth,
+                               MeterRegistry meterRegistry) {
+        this.delegate = passwordEncoder;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        int depth = queueDepth > 0 ? queueDepth : size * 4;
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(depth), r -> {
+            Thread thread = new Thread(r, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("password.hash.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String hash) {
+        return run(() -> delegate.matches(rawPassword, hash));
+    }
+
+    @Override
+    public String hashIfChanged(String submitted, String currentHash) {
+        if (submitted == null || submitted.isEmpty()) {
+            return currentHash;
+        }
+        if (currentHash != null && MessageDigest.isEqual(submitted.getBytes(StandardCharsets.UTF_8),
+                currentHash.getBytes(StandardCharsets.UTF_8))) {
+            return currentHash;
+        }
+        return hash(submitted);
+    }
+
+    @Override
+    public PasswordEncoder encoder() {
+        return encoder;
+    }
+
+    private <T> T run(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many password checks in flight, retry shortly", 1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private final class BoundedEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return run(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return run(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        // Upgrading costs one more hash on the login, skipped while others wait for the pool: the next
+        // login will do it
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.Mapper.PaymentMapper;
+import com.BackEnd.Master.GYM.dto.PaymentDto;
+import com.BackEnd.Master.GYM.dto.RevenueRollupDto;
+import com.BackEnd.Master.GYM.entity.AppUsers;
+import com.BackEnd.Master.GYM.entity.Pack;
+import com.BackEnd.Master.GYM.entity.Payment;
+import com.BackEnd.Master.GYM.entity.RevenueRollup;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Dimension;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Granularity;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.repository.AppUserRepo;
+import com.BackEnd.Master.GYM.repository.IdAllocator;
+import com.BackEnd.Master.GYM.repository.PackRepo;
+import com.BackEnd.Master.GYM.repository.PaymentRepo;
+import com.BackEnd.Master.GYM.repository.RevenueRollupRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.services.PaymentService;
+import com.BackEnd.Master.GYM.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements PaymentService {
+    private static final int MAX_REPORT_DAYS = 366;
+    private static final int MAX_REPORT_MONTHS = 120;
+
+    private final PaymentRepo paymentRepo;
+    private final RevenueRollupRepo revenueRollupRepo;
+    private final PackRepo packRepo;
+    private final customerRepo customerRepo;
+    private final AppUserRepo appUserRepo;
+    private final PaymentMapper paymentMapper;
+    private final IdAllocator idAllocator;
+
+    @Override
+    @Transactional
+    public Payment record(PaymentDto dto) {
+        if (dto.getCustomerId() == null) {
+            throw new InvalidEntityException("customerId is required");
+        }
+        customer customer = customerRepo.findById(dto.getCustomerId())
+                .orElseThrow(() -> new EntityNotFoundException("customer not found with ID: " + dto.getCustomerId()));
+        Pack pack = dto.getPackId() == null ? null : packRepo.findById(dto.getPackId())
+                .orElseThrow(() -> new EntityNotFoundException("Pack not found with ID: " + dto.getPackId()));
+
+        long amountMinor;
+        if (dto.getAmount() != null) {
+            amountMinor = Money.toMinor(dto.getAmount());
+        } else if (pack != null && pack.getPriceMinor() != null) {
+            amountMinor = pack.getPriceMinor();
+        } else {
+            throw new InvalidEntityException("amount is required when the pack has no price");
+        }
+        if (amountMinor == 0) {
+            throw new InvalidEntityException("amount cannot be zero");
+        }
+
+        Payment payment = new Payment();
+        payment.setCustomer(customer);
+        payment.setPack(pack);
+        payment.setCoachId(customer.getUser() == null ? null : customer.getUser().getId());
+        payment.setAmountMinor(amountMinor);
+        payment.setPaidAt(dto.getPaidAt() == null ? LocalDateTime.now() : dto.getPaidAt());
+        payment.setMethod(dto.getMethod());
+        payment.setNote(dto.getNote());
+        Payment saved = paymentRepo.save(payment);
+
+        // Always the same bucket order so concurrent payments lock rollup rows in the same sequence
+        LocalDate day = saved.getPaidAt().toLocalDate();
+        List<Bucket> buckets = new ArrayList<>();
+        for (Granularity granularity : Granularity.values()) {
+            LocalDate period = granularity == Granularity.DAY ? day : day.withDayOfMonth(1);
+            buckets.add(new Bucket(granularity, period, Dimension.ALL, 0L));
+            if (pack != null) {
+                buckets.add(new Bucket(granularity, period, Dimension.PACK, pack.getId()));
+            }
+            if (saved.getCoachId() != null) {
+                buckets.add(new Bucket(granularity, period, Dimension.COACH, saved.getCoachId()));
+            }
+        }
+        // An id per bucket in case it is new; the ones landing on an existing row are simply unused
+        long[] ids = idAllocator.next(RevenueRollup.class, buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = buckets.get(i);
+            revenueRollupRepo.add(ids[i], bucket.granularity().name(), bucket.period(), bucket.dimension().name(),
+                    bucket.dimensionId(), amountMinor);
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Payment> findByCustomer(Long customerId) {
+        return paymentRepo.findByCustomerIdOrderByPaidAtDesc(customerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenueRollupDto> revenue(Granularity granularity, Dimension dimension, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidEntityException("End date must be after start date");
+        }
+        if (granularity == Granularity.MONTH) {
+            from = from.withDayOfMonth(1);
+            if (from.plusMonths(MAX_REPORT_MONTHS).isBefore(to)) {
+                throw new InvalidEntityException("Range cannot exceed " + MAX_REPORT_MONTHS + " months");
+            }
+        } else if (from.plusDays(MAX_REPORT_DAYS).isBefore(to)) {
+            throw new InvalidEntityException("Range cannot exceed " + MAX_REPORT_DAYS + " days");
+        }
+
+        List<RevenueRollupDto> rows = revenueRollupRepo
+                .findByGranularityAndDimensionAndPeriodStartBetweenOrderByPeriodStartAscDimensionIdAsc(granularity, dimension, from, to)
+                .stream()
+                .map(paymentMapper::mapRollup)
+                .toList();
+        Map<Long, String> names = dimensionNames(dimension, rows.stream().map(RevenueRollupDto::getDimensionId).collect(Collectors.toSet()));
+        rows.forEach(row -> row.setDimensionName(names.get(row.getDimensionId())));
+        return rows;
+    }
+
+    private Map<Long, String> dimensionNames(Dimension dimension, Set<Long> ids) {
+        return switch (dimension) {
+            case ALL -> Map.of();
+            case PACK -> packRepo.findAllById(ids).stream().collect(Collectors.toMap(Pack::getId, Pack::getName));
+            case COACH -> appUserRepo.findAllById(ids).stream().collect(Collectors.toMap(AppUsers::getId, AppUsers::getUserName));
+        };
+    }
+
+    private record Bucket(Granularity granularity, LocalDate period, Dimension dimension, long dimensionId) {
+    }
+}
@@ -7,6 +7,7 @@ import com.BackEnd.Master.GYM.repository.PhotoRepo;
 import com.BackEnd.Master.GYM.services.PhotoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -23,11 +24,13 @@ public class PhotoServiceImpl implements PhotoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Photo> findAll() {
         return photoRepo.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Photo> findByAlbumId(Long albumId) {
         return photoRepo.findByAlbumId(albumId);
     }
@@ -0,0 +1,149 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.entity.SessionBooking;
+import com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus;
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.events.SeatReleasedEvent;
+import com.BackEnd.Master.GYM.events.SessionBookedEvent;
+import com.BackEnd.Master.GYM.index.SessionCapacityTracker;
+import com.BackEnd.Master.GYM.index.SessionCapacityTracker.Capacity;
+import com.BackEnd.Master.GYM.repository.SessionBookingRepo;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.services.SessionBookingService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SessionBookingServiceImpl implements SessionBookingService {
+    private static final Logger log = LoggerFactory.getLogger(SessionBookingServiceImpl.class);
+
+    private final SessionBookingRepo sessionBookingRepo;
+    private final TrainingSessionRepo trainingSessionRepo;
+    private final customerRepo customerRepo;
+    private final SessionCapacityTracker capacityTracker;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public SessionBooking book(Long sessionId, Long customerId) {
+        // Full sessions are rejected from memory, no DB round trip
+        if (!capacityTracker.tryAcquire(sessionId, () -> loadCapacity(sessionId))) {
+            throw new InvalidEntityException("Session is full, join the waitlist");
+        }
+        releaseSeatUnlessCommitted(sessionId);
+
+        if (!customerRepo.existsById(customerId)) {
+            throw new EntityNotFoundException("customer not found with ID: " + customerId);
+        }
+        // Fast answer for the common case; the unique key on the active booking settles concurrent requests
+        if (sessionBookingRepo.existsBySessionIdAndCustomerIdAndStatus(sessionId, customerId, BookingStatus.CONFIRMED)) {
+            throw new InvalidEntityException("Customer already booked this session");
+        }
+        if (trainingSessionRepo.incrementBookedCount(sessionId) == 0) {
+            // The counter was stale (other node, manual edit...), reload it on next booking
+            capacityTracker.evict(sessionId);
+            throw new InvalidEntityException("Session is full, join the waitlist");
+        }
+
+        SessionBooking booking = new SessionBooking();
+        booking.setSession(trainingSessionRepo.getReferenceById(sessionId));
+        booking.setCustomer(customerRepo.getReferenceById(customerId));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setBookedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new SessionBookedEvent(sessionId));
+        try {
+            return sessionBookingRepo.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            throw new InvalidEntityException("Customer already booked this session");
+        }
+    }
+
+    @Override
+    @Transactional
+    public SessionBooking cancel(Long sessionId, Long bookingId) {
+        SessionBooking booking = sessionBookingRepo.findById(bookingId)
+                .filter(b -> b.getSession().getId().equals(sessionId))
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found with ID: " + bookingId));
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new InvalidEntityException("Booking is already cancelled");
+        }
+
+        booking.setStatus(BookingStatus.CANCELLED);
+        booking.setCancelledAt(LocalDateTime.now());
+        trainingSessionRepo.decrementBookedCount(sessionId);
+
+        // The waitlist may take the seat before commit, otherwise it becomes bookable again
+        SeatReleasedEvent event = new SeatReleasedEvent(sessionId);
+        eventPublisher.publishEvent(event);
+        releaseSeatAfterCommit(event);
+        return sessionBookingRepo.save(booking);
+    }
+
+    @Override
+    public List<SessionBooking> findConfirmedBySession(Long sessionId) {
+        return sessionBookingRepo.findBySessionIdAndStatus(sessionId, BookingStatus.CONFIRMED);
+    }
+
+    // Bookings confirmed before the scheme existed get their active key; fails (and says so) while two
+    // confirmed bookings of the same member and session remain
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillActiveBookings() {
+        try {
+            int updated = sessionBookingRepo.backfillActiveCustomerIds();
+            if (updated > 0) {
+                log.info("Set the active booking key on {} confirmed bookings", updated);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Some members hold two confirmed bookings for the same session, cancel one of them: {}",
+                    ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private Capacity loadCapacity(Long sessionId) {
+        TrainingSession session = trainingSessionRepo.findById(sessionId)
+                .orElseThrow(() -> new EntityNotFoundException("Training session not found with ID: " + sessionId));
+        if (session.getMaxParticipants() == null) {
+            return Capacity.UNLIMITED;
+        }
+        return new Capacity(Math.max(0, session.getMaxParticipants() - session.getBookedCount()), session.getMaxParticipants());
+    }
+
+    private void releaseSeatUnlessCommitted(Long sessionId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    capacityTracker.release(sessionId);
+                }
+            }
+        });
+    }
+
+    private void releaseSeatAfterCommit(SeatReleasedEvent event) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (!event.isSeatTaken()) {
+                    capacityTracker.release(event.getSessionId());
+                }
+            }
+        });
+    }
+}
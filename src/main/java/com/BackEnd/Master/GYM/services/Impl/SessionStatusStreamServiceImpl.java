@@ -0,0 +1,201 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.dto.SessionCountsDto;
+import com.BackEnd.Master.GYM.dto.SessionStatusDto;
+import com.BackEnd.Master.GYM.dto.SessionStatusDto.Status;
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.events.TrainingSessionChangedEvent;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.services.SessionStatusStreamService;
+import com.BackEnd.Master.GYM.util.HashedTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// One timing wheel drives every dashboard: transitions are derived from today's schedule held in memory,
+// so connected clients cost no queries. All schedule state is confined to the single dispatcher thread.
+@Service
+@RequiredArgsConstructor
+public class SessionStatusStreamServiceImpl implements SessionStatusStreamService {
+    private static final Logger log = LoggerFactory.getLogger(SessionStatusStreamServiceImpl.class);
+    private static final long HEARTBEAT_SECONDS = 30;
+
+    private final TrainingSessionRepo trainingSessionRepo;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "session-status");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HashedTimingWheel wheel = new HashedTimingWheel("session-status-wheel", 1, TimeUnit.SECONDS, 512, dispatcher);
+
+    // Dispatcher thread only
+    private LocalDate day;
+    private List<TrainingSession> daySessions = List.of();
+    private Set<Long> daySessionIds = Set.of();
+    private final List<HashedTimingWheel.Timeout> transitions = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wheel.start();
+        dispatcher.execute(() -> {
+            loadDay();
+            scheduleMidnightReload();
+            scheduleHeartbeat();
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+        dispatcher.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        emitters.add(emitter);
+        dispatcher.execute(() -> {
+            send(emitter, () -> SseEmitter.event().name("schedule").data(snapshot()));
+            send(emitter, () -> SseEmitter.event().name("counts").data(counts()));
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsChanged(TrainingSessionChangedEvent event) {
+        dispatcher.execute(() -> {
+            if (event.getAffectedDates().contains(day) || event.touches(daySessionIds)) {
+                loadDay();
+            }
+        });
+    }
+
+    private void loadDay() {
+        transitions.forEach(HashedTimingWheel.Timeout::cancel);
+        transitions.clear();
+
+        day = LocalDate.now();
+        daySessions = trainingSessionRepo.findByDate(day);
+        daySessionIds = daySessions.stream().map(TrainingSession::getId).collect(Collectors.toSet());
+
+        LocalTime now = LocalTime.now();
+        for (TrainingSession session : daySessions) {
+            if (now.isBefore(session.getStartTime())) {
+                transitions.add(scheduleAt(session.getStartTime(), () -> transition(session, Status.ACTIVE)));
+            }
+            // "completed" means endTime < now, so fire just after the end
+            LocalTime completedAt = session.getEndTime().plusSeconds(1);
+            if (!now.isAfter(session.getEndTime()) && completedAt.isAfter(session.getEndTime())) {
+                transitions.add(scheduleAt(completedAt, () -> transition(session, Status.COMPLETED)));
+            }
+        }
+        broadcast(() -> SseEmitter.event().name("schedule").data(snapshot()));
+        broadcast(() -> SseEmitter.event().name("counts").data(counts()));
+        log.debug("Live status loaded {} sessions for {}", daySessions.size(), day);
+    }
+
+    private void transition(TrainingSession session, Status status) {
+        SessionStatusDto dto = new SessionStatusDto(session.getId(), session.getSportName(),
+                session.getStartTime(), session.getEndTime(), status);
+        broadcast(() -> SseEmitter.event().name("transition").data(dto));
+        broadcast(() -> SseEmitter.event().name("counts").data(counts()));
+    }
+
+    private HashedTimingWheel.Timeout scheduleAt(LocalTime time, Runnable task) {
+        long delayMillis = Duration.between(LocalTime.now(), time).toMillis();
+        return wheel.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleMidnightReload() {
+        LocalDateTime nextDay = LocalDate.now().plusDays(1).atStartOfDay().plusSeconds(1);
+        long delayMillis = Duration.between(LocalDateTime.now(), nextDay).toMillis();
+        wheel.schedule(() -> {
+            loadDay();
+            scheduleMidnightReload();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Also prunes emitters whose client went away
+    private void scheduleHeartbeat() {
+        wheel.schedule(() -> {
+            broadcast(() -> SseEmitter.event().comment("heartbeat"));
+            scheduleHeartbeat();
+        }, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private List<SessionStatusDto> snapshot() {
+        LocalTime now = LocalTime.now();
+        return daySessions.stream()
+                .map(s -> new SessionStatusDto(s.getId(), s.getSportName(), s.getStartTime(), s.getEndTime(), statusAt(s, now)))
+                .collect(Collectors.toList());
+    }
+
+    // Same rules as the count queries of TrainingSessionRepo
+    private SessionCountsDto counts() {
+        LocalTime now = LocalTime.now();
+        long active = 0;
+        long upcoming = 0;
+        long completed = 0;
+        for (TrainingSession session : daySessions) {
+            if (session.getStartTime().isAfter(now)) {
+                upcoming++;
+            }
+            if (session.getEndTime().isBefore(now)) {
+                completed++;
+            }
+            if (!session.getStartTime().isAfter(now) && !session.getEndTime().isBefore(now)) {
+                active++;
+            }
+        }
+        return new SessionCountsDto(day, daySessions.size(), active, upcoming, completed);
+    }
+
+    private Status statusAt(TrainingSession session, LocalTime now) {
+        if (session.getStartTime().isAfter(now)) {
+            return Status.UPCOMING;
+        }
+        return session.getEndTime().isBefore(now) ? Status.COMPLETED : Status.ACTIVE;
+    }
+
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event);
+        }
+    }
+
+    // Builders can't be reused across emitters, hence the supplier
+    private void send(SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            emitter.send(event.get());
+        } catch (IOException | IllegalStateException ex) {
+            emitters.remove(emitter);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.BackEnd.Master.GYM.services.Impl;
+
+import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.entity.SessionBooking;
+import com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus;
+import com.BackEnd.Master.GYM.entity.SessionWaitlistEntry;
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.events.SeatReleasedEvent;
+import com.BackEnd.Master.GYM.index.WaitlistIndex;
+import com.BackEnd.Master.GYM.repository.SessionBookingRepo;
+import com.BackEnd.Master.GYM.repository.SessionWaitlistRepo;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.services.SessionWaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class SessionWaitlistServiceImpl implements SessionWaitlistService {
+
+    private final SessionWaitlistRepo sessionWaitlistRepo;
+    private final SessionBookingRepo sessionBookingRepo;
+    private final TrainingSessionRepo trainingSessionRepo;
+    private final customerRepo customerRepo;
+    private final WaitlistIndex waitlistIndex;
+
+    @Override
+    @Transactional
+    public SessionWaitlistEntry join(Long sessionId, Long customerId) {
+        TrainingSession session = trainingSessionRepo.findById(sessionId)
+                .orElseThrow(() -> new EntityNotFoundException("Training session not found with ID: " + sessionId));
+        if (session.getMaxParticipants() == null || session.getBookedCount() < session.getMaxParticipants()) {
+            throw new InvalidEntityException("Session still has free seats, book it directly");
+        }
+        if (!customerRepo.existsById(customerId)) {
+            throw new EntityNotFoundException("customer not found with ID: " + customerId);
+        }
+        if (sessionBookingRepo.existsBySessionIdAndCustomerIdAndStatus(sessionId, customerId, BookingStatus.CONFIRMED)) {
+            throw new InvalidEntityException("Customer already booked this session");
+        }
+
+        WaitlistIndex.SessionQueue queue = queue(sessionId);
+        if (queue.contains(customerId)) {
+            throw new InvalidEntityException("Customer is already on the waitlist");
+        }
+
+        SessionWaitlistEntry entry = new SessionWaitlistEntry();
+        entry.setSession(session);
+        entry.setCustomer(customerRepo.getReferenceById(customerId));
+        entry.setPosition(queue.reserveNext());
+        entry.setJoinedAt(LocalDateTime.now());
+        SessionWaitlistEntry saved = sessionWaitlistRepo.save(entry);
+
+        afterCommit(() -> queue.add(customerId, saved.getPosition()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void leave(Long sessionId, Long customerId) {
+        SessionWaitlistEntry entry = sessionWaitlistRepo.findBySessionIdAndCustomerId(sessionId, customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer is not on the waitlist"));
+        sessionWaitlistRepo.delete(entry);
+        afterCommit(() -> queue(sessionId).remove(customerId));
+    }
+
+    @Override
+    public int positionOf(Long sessionId, Long customerId) {
+        Integer rank = queue(sessionId).rankOf(customerId);
+        if (rank == null) {
+            throw new EntityNotFoundException("Customer is not on the waitlist");
+        }
+        return rank;
+    }
+
+    @Override
+    public List<SessionWaitlistEntry> findBySession(Long sessionId) {
+        return sessionWaitlistRepo.findBySessionIdOrderByPositionAsc(sessionId);
+    }
+
+    // Runs inside the cancelling transaction: the freed seat goes straight to the head of the
+    // waitlist, so it is never visible to direct bookers and nobody has to poll for it.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void promoteNext(SeatReleasedEvent event) {
+        Long sessionId = event.getSessionId();
+        Optional<SessionWaitlistEntry> head;
+        while ((head = sessionWaitlistRepo.findFirstBySessionIdOrderByPositionAsc(sessionId)).isPresent()) {
+            SessionWaitlistEntry next = head.get();
+            Long customerId = next.getCustomer().getId();
+            // Booked directly since joining: drop the entry, the seat goes to the one after
+            if (sessionBookingRepo.existsBySessionIdAndCustomerIdAndStatus(sessionId, customerId, BookingStatus.CONFIRMED)) {
+                sessionWaitlistRepo.delete(next);
+                sessionWaitlistRepo.flush();
+                afterCommit(() -> queue(sessionId).remove(customerId));
+                continue;
+            }
+            if (trainingSessionRepo.incrementBookedCount(sessionId) == 0) {
+                return;
+            }
+            SessionBooking booking = new SessionBooking();
+            booking.setSession(next.getSession());
+            booking.setCustomer(next.getCustomer());
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setBookedAt(LocalDateTime.now());
+            sessionBookingRepo.save(booking);
+            sessionWaitlistRepo.delete(next);
+            sessionWaitlistRepo.flush();
+
+            event.markSeatTaken();
+            afterCommit(() -> queue(sessionId).remove(customerId));
+            return;
+        }
+    }
+
+    private WaitlistIndex.SessionQueue queue(Long sessionId) {
+        return waitlistIndex.queue(sessionId, queue -> {
+            for (SessionWaitlistEntry entry : sessionWaitlistRepo.findBySessionIdOrderByPositionAsc(sessionId)) {
+                queue.add(entry.getCustomer().getId(), entry.getPosition());
+            }
+            return queue;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
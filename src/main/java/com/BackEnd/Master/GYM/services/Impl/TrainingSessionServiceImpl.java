@@ -2,20 +2,78 @@ package com.BackEnd.Master.GYM.services.Impl;
 
 import com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
 import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.dto.BulkSessionChangeDto;
+import com.BackEnd.Master.GYM.dto.FreeSlotDto;
+import com.BackEnd.Master.GYM.dto.SessionRecurrenceDto;
+import com.BackEnd.Master.GYM.dto.SessionStatsDto;
 import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.events.TrainingSessionChangedEvent;
+import com.BackEnd.Master.GYM.index.SessionCapacityTracker;
+import com.BackEnd.Master.GYM.index.SessionScheduleIndex;
+import com.BackEnd.Master.GYM.index.WaitlistIndex;
+import com.BackEnd.Master.GYM.jobs.TrainingSessionArchiveJob;
+import com.BackEnd.Master.GYM.repository.TrainingSessionArchiveRepo;
+import com.BackEnd.Master.GYM.repository.TrainingSessionBatchRepo;
 import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo.SessionStatsRow;
 import com.BackEnd.Master.GYM.services.TrainingSessionService;
+import com.BackEnd.Master.GYM.util.TtlCache;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TrainingSessionServiceImpl implements TrainingSessionService {
+    private static final int MAX_OCCURRENCES = 10_000;
+    private static final int MAX_FREE_SLOT_DAYS = 366;
+
     private final TrainingSessionRepo trainingSessionRepo;
+    private final TrainingSessionBatchRepo trainingSessionBatchRepo;
+    private final SessionCapacityTracker capacityTracker;
+    private final WaitlistIndex waitlistIndex;
+    private final SessionScheduleIndex scheduleIndex;
+    private final TrainingSessionArchiveRepo archiveRepo;
+    private final TrainingSessionArchiveJob archiveJob;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.sessions.stats-cache-ttl-seconds:15}")
+    private long statsCacheTtlSeconds;
+    private TtlCache<StatsKey, SessionStatsDto> statsCache;
+
+    @Value("${app.sessions.opening-time:06:00}")
+    private String openingHour;
+    @Value("${app.sessions.closing-time:22:00}")
+    private String closingHour;
+    private LocalTime openingTime;
+    private LocalTime closingTime;
+
+    @PostConstruct
+    void init() {
+        statsCache = new TtlCache<>(Duration.ofSeconds(statsCacheTtlSeconds), 1_000);
+        openingTime = LocalTime.parse(openingHour);
+        closingTime = LocalTime.parse(closingHour);
+    }
 
     @Override
     public TrainingSession findById(Long id) {
@@ -24,32 +82,237 @@ public class TrainingSessionServiceImpl implements TrainingSessionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TrainingSession> findAll() {
         return trainingSessionRepo.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TrainingSession> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        return trainingSessionRepo.findByDateBetween(startDate, endDate);
+        List<TrainingSession> sessions = trainingSessionRepo.findByDateBetween(startDate, endDate);
+        if (!reachesArchive(startDate)) {
+            return sessions;
+        }
+        List<TrainingSession> all = new ArrayList<>(archiveRepo.findByDateBetween(startDate, endDate));
+        all.addAll(sessions);
+        return all;
     }
 
     @Override
     public TrainingSession create(TrainingSession entity) {
         validateSession(entity);
         checkTimeConflict(entity);
-        return trainingSessionRepo.save(entity);
+        TrainingSession saved = trainingSessionRepo.save(entity);
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.saved(List.of(saved)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public int createRecurring(SessionRecurrenceDto rule) {
+        validateRule(rule);
+        List<TrainingSession> occurrences = expandOccurrences(rule);
+        if (occurrences.isEmpty()) {
+            return 0;
+        }
+        validateSession(occurrences.get(0));
+
+        // One range query for the whole recurrence instead of one findByDate per occurrence
+        Map<LocalDate, List<TrainingSession>> existingByDate = trainingSessionRepo
+                .findByDateBetween(occurrences.get(0).getDate(), occurrences.get(occurrences.size() - 1).getDate())
+                .stream()
+                .collect(Collectors.groupingBy(TrainingSession::getDate));
+
+        for (TrainingSession occurrence : occurrences) {
+            List<TrainingSession> sameDay = existingByDate.getOrDefault(occurrence.getDate(), List.of());
+            for (TrainingSession s : sameDay) {
+                if (isTimeConflict(occurrence.getStartTime(), occurrence.getEndTime(), s.getStartTime(), s.getEndTime())) {
+                    throw new InvalidEntityException("Time conflict with existing session on " + occurrence.getDate()
+                            + " at " + s.getStartTime());
+                }
+            }
+        }
+
+        int created = trainingSessionBatchRepo.insertAll(occurrences);
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.saved(occurrences));
+        return created;
+    }
+
+    private void validateRule(SessionRecurrenceDto rule) {
+        if (rule.getStartDate() == null || rule.getEndDate() == null) {
+            throw new InvalidEntityException("Recurrence start and end dates are required");
+        }
+        if (rule.getEndDate().isBefore(rule.getStartDate())) {
+            throw new InvalidEntityException("Recurrence end date must be after start date");
+        }
+        if (rule.getStartTime() == null || rule.getEndTime() == null) {
+            throw new InvalidEntityException("Start and end times are required");
+        }
+        if (rule.getDaysOfWeek() == null || rule.getDaysOfWeek().isEmpty()) {
+            throw new InvalidEntityException("At least one day of week is required");
+        }
+    }
+
+    // Occurrences come out sorted by date; a week is kept when its distance to the first week matches the frequency
+    private List<TrainingSession> expandOccurrences(SessionRecurrenceDto rule) {
+        int stepWeeks = rule.getFrequency() == SessionRecurrenceDto.Frequency.BIWEEKLY ? 2 : 1;
+        Set<DayOfWeek> days = EnumSet.copyOf(rule.getDaysOfWeek());
+        Set<LocalDate> exceptions = rule.getExceptions() == null ? Set.of() : new HashSet<>(rule.getExceptions());
+
+        List<TrainingSession> occurrences = new ArrayList<>();
+        LocalDate firstMonday = rule.getStartDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        for (LocalDate monday = firstMonday; !monday.isAfter(rule.getEndDate()); monday = monday.plusWeeks(stepWeeks)) {
+            for (DayOfWeek day : days) {
+                LocalDate date = monday.with(TemporalAdjusters.nextOrSame(day));
+                if (date.isBefore(rule.getStartDate()) || date.isAfter(rule.getEndDate()) || exceptions.contains(date)) {
+                    continue;
+                }
+                if (occurrences.size() == MAX_OCCURRENCES) {
+                    throw new InvalidEntityException("Recurrence generates more than " + MAX_OCCURRENCES + " sessions");
+                }
+                TrainingSession session = new TrainingSession();
+                session.setDate(date);
+                session.setStartTime(rule.getStartTime());
+                session.setEndTime(rule.getEndTime());
+                session.setSportName(rule.getSportName());
+                session.setSessionType(rule.getSessionType());
+                session.setMaxParticipants(rule.getMaxParticipants());
+                occurrences.add(session);
+            }
+        }
+        return occurrences;
     }
 
     @Override
     public TrainingSession update(TrainingSession entity) {
         validateSession(entity);
         checkTimeConflict(entity, entity.getId());
-        return trainingSessionRepo.save(entity);
+        if (entity.getMaxParticipants() != null && entity.getMaxParticipants() < entity.getBookedCount()) {
+            throw new InvalidEntityException("Session already has " + entity.getBookedCount() + " bookings");
+        }
+        TrainingSession saved = trainingSessionRepo.save(entity);
+        capacityTracker.evict(saved.getId());
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.saved(List.of(saved)));
+        return saved;
     }
 
     @Override
     public void delete(Long id) {
         trainingSessionRepo.deleteById(id);
+        capacityTracker.evict(id);
+        waitlistIndex.evict(id);
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.deleted(List.of(id)));
+    }
+
+    @Override
+    @Transactional
+    public int bulkReschedule(BulkSessionChangeDto request) {
+        boolean shift = request.getOffsetDays() != null || request.getOffsetMinutes() != null;
+        if (request.getTargetDate() == null && !shift) {
+            throw new InvalidEntityException("A target date or an offset is required");
+        }
+        List<TrainingSession> selected = selectSessions(request, true);
+        if (selected.isEmpty()) {
+            return 0;
+        }
+
+        long offsetMinutes = request.getOffsetMinutes() == null ? 0 : request.getOffsetMinutes();
+        long offsetDays = request.getOffsetDays() == null ? 0 : request.getOffsetDays();
+        List<TrainingSession> moved = new ArrayList<>(selected.size());
+        for (TrainingSession s : selected) {
+            LocalDateTime start = s.getDate().atTime(s.getStartTime()).plusDays(offsetDays).plusMinutes(offsetMinutes);
+            LocalDateTime end = s.getDate().atTime(s.getEndTime()).plusDays(offsetDays).plusMinutes(offsetMinutes);
+            if (!start.toLocalDate().equals(end.toLocalDate())) {
+                throw new InvalidEntityException("Session " + s.getId() + " would cross midnight");
+            }
+            TrainingSession copy = new TrainingSession();
+            copy.setId(s.getId());
+            copy.setDate(request.getTargetDate() != null ? request.getTargetDate() : start.toLocalDate());
+            copy.setStartTime(start.toLocalTime());
+            copy.setEndTime(end.toLocalTime());
+            copy.setSportName(s.getSportName());
+            copy.setSessionType(s.getSessionType());
+            copy.setMaxParticipants(s.getMaxParticipants());
+            moved.add(copy);
+        }
+        checkBulkConflicts(moved);
+
+        // The rows are locked, so this only trips if something bypassed the lock; throwing rolls the batch back
+        int updated = trainingSessionBatchRepo.rescheduleAll(moved);
+        if (updated != moved.size()) {
+            throw new EntityNotFoundException("Some training sessions were deleted while rescheduling");
+        }
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.saved(moved));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int bulkCancel(BulkSessionChangeDto request) {
+        List<Long> ids = selectSessions(request, false).stream().map(TrainingSession::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // One DELETE ... WHERE id IN (...); bookings and waitlist entries go through ON DELETE CASCADE
+        trainingSessionRepo.deleteAllByIdInBatch(ids);
+        ids.forEach(id -> {
+            capacityTracker.evict(id);
+            waitlistIndex.evict(id);
+        });
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.deleted(ids));
+        return ids.size();
+    }
+
+    private List<TrainingSession> selectSessions(BulkSessionChangeDto request, boolean forUpdate) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<TrainingSession> sessions = forUpdate
+                    ? trainingSessionRepo.lockAllById(request.getIds())
+                    : trainingSessionRepo.findAllById(request.getIds());
+            if (sessions.size() != new HashSet<>(request.getIds()).size()) {
+                throw new EntityNotFoundException("Some training sessions were not found");
+            }
+            return sessions;
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null) {
+            return forUpdate
+                    ? trainingSessionRepo.lockByDateBetween(request.getStartDate(), request.getEndDate())
+                    : trainingSessionRepo.findByDateBetween(request.getStartDate(), request.getEndDate());
+        }
+        throw new InvalidEntityException("Select sessions by ids or by start and end dates");
+    }
+
+    // One range query over the destination days, then a sweep per day sorted by start time:
+    // a session conflicts with every later one starting before it ends.
+    private void checkBulkConflicts(List<TrainingSession> moved) {
+        Set<Long> movedIds = moved.stream().map(TrainingSession::getId).collect(Collectors.toSet());
+        LocalDate first = moved.stream().map(TrainingSession::getDate).min(LocalDate::compareTo).get();
+        LocalDate last = moved.stream().map(TrainingSession::getDate).max(LocalDate::compareTo).get();
+
+        List<TrainingSession> all = new ArrayList<>(moved);
+        trainingSessionRepo.findByDateBetween(first, last).stream()
+                .filter(s -> !movedIds.contains(s.getId()))
+                .forEach(all::add);
+        Map<LocalDate, List<TrainingSession>> byDate = all.stream()
+                .collect(Collectors.groupingBy(TrainingSession::getDate));
+
+        List<String> conflicts = new ArrayList<>();
+        for (List<TrainingSession> day : byDate.values()) {
+            day.sort(Comparator.comparing(TrainingSession::getStartTime));
+            for (int i = 0; i < day.size(); i++) {
+                TrainingSession a = day.get(i);
+                for (int j = i + 1; j < day.size() && !day.get(j).getStartTime().isAfter(a.getEndTime()); j++) {
+                    TrainingSession b = day.get(j);
+                    if (movedIds.contains(a.getId()) || movedIds.contains(b.getId())) {
+                        conflicts.add(a.getId() + "/" + b.getId() + " on " + a.getDate());
+                    }
+                }
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new InvalidEntityException("Time conflict between sessions " + String.join(", ",
+                    conflicts.subList(0, Math.min(10, conflicts.size()))));
+        }
     }
 
     private void validateSession(TrainingSession session) {
@@ -85,16 +348,106 @@ public class TrainingSessionServiceImpl implements TrainingSessionService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long countByDate(LocalDate date) {
-        return trainingSessionRepo.countByDate(LocalDate.now());
+        LocalDate day = date != null ? date : LocalDate.now();
+        long count = trainingSessionRepo.countByDate(day);
+        return reachesArchive(day) ? count + archiveRepo.countByDate(day) : count;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long countActiveSessions(LocalDate date, LocalTime currentTime) {
-        return trainingSessionRepo.countActiveSessions(LocalDate.now(), LocalTime.now());
+        LocalDate day = date != null ? date : LocalDate.now();
+        LocalTime time = currentTime != null ? currentTime : LocalTime.now();
+        long count = trainingSessionRepo.countActiveSessions(day, time);
+        return reachesArchive(day) ? count + archiveRepo.countActiveSessions(day, time) : count;
     }
 
+    // Only reach for the archive when the range starts on or before the last archived day
+    private boolean reachesArchive(LocalDate startDate) {
+        LocalDate archivedThrough = archiveJob.archivedThrough();
+        return archivedThrough != null && !startDate.isAfter(archivedThrough);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SessionStatsDto stats(LocalDate startDate, LocalDate endDate, LocalDateTime at) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidEntityException("End date must be after start date");
+        }
+        // Minute resolution keeps the cache useful for dashboards refreshing every few seconds
+        StatsKey key = new StatsKey(startDate, endDate, at.truncatedTo(ChronoUnit.MINUTES));
+        return statsCache.get(key, this::loadStats);
+    }
 
+    private SessionStatsDto loadStats(StatsKey key) {
+        List<SessionStatsRow> rows = new ArrayList<>(trainingSessionRepo.aggregateStats(
+                key.startDate(), key.endDate(), key.at().toLocalDate(), key.at().toLocalTime()));
+        if (reachesArchive(key.startDate())) {
+            rows.addAll(archiveRepo.aggregateStats(key.startDate(), key.endDate(), key.at().toLocalDate(), key.at().toLocalTime()));
+        }
 
+        SessionStatsDto stats = new SessionStatsDto();
+        stats.setStartDate(key.startDate());
+        stats.setEndDate(key.endDate());
+        stats.setAt(key.at());
+        for (SessionStatsRow row : rows) {
+            long total = row.getTotal();
+            long active = row.getActive() == null ? 0 : row.getActive();
+            long upcoming = row.getUpcoming() == null ? 0 : row.getUpcoming();
+            long completed = row.getCompleted() == null ? 0 : row.getCompleted();
+            String sport = row.getSportName() == null ? "UNKNOWN" : row.getSportName();
+            String type = row.getSessionType() == null ? "UNKNOWN" : row.getSessionType().name();
+
+            stats.getTotals().add(total, active, upcoming, completed);
+            stats.getBySport().computeIfAbsent(sport, k -> new SessionStatsDto.StatusCounts())
+                    .add(total, active, upcoming, completed);
+            stats.getBySessionType().computeIfAbsent(type, k -> new SessionStatsDto.StatusCounts())
+                    .add(total, active, upcoming, completed);
+        }
+        return stats;
+    }
+
+    @Override
+    public List<FreeSlotDto> findFreeSlots(LocalDate startDate, LocalDate endDate, int durationMinutes) {
+        if (durationMinutes <= 0) {
+            throw new InvalidEntityException("Duration must be positive");
+        }
+        if (endDate.isBefore(startDate) || startDate.plusDays(MAX_FREE_SLOT_DAYS).isBefore(endDate)) {
+            throw new InvalidEntityException("Date range must cover 1 to " + MAX_FREE_SLOT_DAYS + " days");
+        }
+        scheduleIndex.ensureLoaded(startDate, endDate);
+
+        int open = (SessionScheduleIndex.minutes(openingTime) + SessionScheduleIndex.SLOT_MINUTES - 1) / SessionScheduleIndex.SLOT_MINUTES;
+        int close = Math.min(SessionScheduleIndex.SLOTS_PER_DAY - 1, closingTime.toSecondOfDay() / 60 / SessionScheduleIndex.SLOT_MINUTES);
+        int slotsNeeded = (durationMinutes + SessionScheduleIndex.SLOT_MINUTES - 1) / SessionScheduleIndex.SLOT_MINUTES;
+
+        List<FreeSlotDto> slots = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            long[] occupied = scheduleIndex.occupancy(date);
+            int from = SessionScheduleIndex.nextClear(occupied, open, close + 1);
+            while (from <= close) {
+                // Free run is [from, to - 1]; a session may start and end on its grid points
+                int to = SessionScheduleIndex.nextSet(occupied, from, close + 1);
+                if (to - 1 - from >= slotsNeeded) {
+                    slots.add(new FreeSlotDto(date, slotTime(from), slotTime(to - 1)));
+                }
+                from = SessionScheduleIndex.nextClear(occupied, to, close + 1);
+            }
+        }
+        return slots;
+    }
+
+    private LocalTime slotTime(int slot) {
+        return LocalTime.ofSecondOfDay((long) slot * SessionScheduleIndex.SLOT_MINUTES * 60);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsChanged(TrainingSessionChangedEvent event) {
+        statsCache.invalidateAll();
+    }
+
+    private record StatsKey(LocalDate startDate, LocalDate endDate, LocalDateTime at) {
+    }
 }
\ No newline at end of file
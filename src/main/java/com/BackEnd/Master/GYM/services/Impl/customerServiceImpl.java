@@ -1,12 +1,24 @@
 
 package  com.BackEnd.Master.GYM.services.Impl;
 
+import java.time.LocalDate;
 import java.util.*;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import  com.BackEnd.Master.GYM.Exceptions.EntityNotFoundException;
 import  com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.Exceptions.ServiceBusyException;
+import com.BackEnd.Master.GYM.Mapper.customerMapper;
+import com.BackEnd.Master.GYM.dto.SegmentQueryDto;
+import com.BackEnd.Master.GYM.dto.SegmentResultDto;
+import com.BackEnd.Master.GYM.dto.customerDto;
 import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.events.CustomerChangedEvent;
+import com.BackEnd.Master.GYM.index.CustomerSegmentIndex;
+import com.BackEnd.Master.GYM.index.MembershipExpiryIndex;
+import com.BackEnd.Master.GYM.jobs.MembershipExpiryScanner;
 import com.BackEnd.Master.GYM.repository.customerRepo;
 import com.BackEnd.Master.GYM.services.customerService;
 
@@ -15,8 +27,15 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class customerServiceImpl implements customerService{
+    private static final int DEFAULT_SEGMENT_PAGE = 50;
+    private static final int MAX_SEGMENT_PAGE = 500;
     
     private final customerRepo customerRepo;
+    private final MembershipExpiryIndex expiryIndex;
+    private final MembershipExpiryScanner expiryScanner;
+    private final CustomerSegmentIndex segmentIndex;
+    private final customerMapper customerMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public customer findById(Long id) {
@@ -25,21 +44,69 @@ public class customerServiceImpl implements customerService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<customer> findAll() {
         return customerRepo.findAll();
     }
 
         @Override
+        @Transactional(readOnly = true)
     public List<customer> searchCustomers(String query) {
         return customerRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase(
                 query, query, query);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long count() {
         return customerRepo.count();
     }
     
+    @Override
+    public List<customerDto> findExpiring(int days) {
+        if (days < 1 || days > expiryScanner.windowDays()) {
+            throw new InvalidEntityException("days must be between 1 and " + expiryScanner.windowDays());
+        }
+        // A membership ending today is still active (as for check-in tokens and the ACTIVE segment)
+        LocalDate today = LocalDate.now();
+        return expiryIndex.between(today.minusDays(1), today.plusDays(days));
+    }
+
+    @Override
+    public List<customerDto> findExpired(int days) {
+        if (days < 1 || days > expiryScanner.lookbackDays()) {
+            throw new InvalidEntityException("days must be between 1 and " + expiryScanner.lookbackDays());
+        }
+        // Ended on one of the last "days" days, today excluded
+        LocalDate today = LocalDate.now();
+        return expiryIndex.between(today.minusDays(days + 1), today.minusDays(1));
+    }
+
+    @Override
+    public SegmentResultDto findSegment(SegmentQueryDto query) {
+        if (!segmentIndex.isLoaded()) {
+            throw new ServiceBusyException("Segment index is still loading", 5);
+        }
+        int page = query.getPage() == null ? 0 : query.getPage();
+        int size = query.getSize() == null ? DEFAULT_SEGMENT_PAGE : query.getSize();
+        if (page < 0 || size < 1 || size > MAX_SEGMENT_PAGE) {
+            throw new InvalidEntityException("page must be >= 0 and size between 1 and " + MAX_SEGMENT_PAGE);
+        }
+        CustomerSegmentIndex.Result result = segmentIndex.query(query, LocalDate.now(), (long) page * size, size);
+
+        // Only the page is read from the DB
+        List<Long> ids = Arrays.stream(result.ids()).boxed().toList();
+        List<customer> customers = new ArrayList<>(customerRepo.findAllById(ids));
+        customers.sort(Comparator.comparing(customer::getId));
+
+        SegmentResultDto dto = new SegmentResultDto();
+        dto.setTotal(result.total());
+        dto.setPage(page);
+        dto.setSize(size);
+        dto.setContent(customerMapper.map(customers));
+        return dto;
+    }
+
     @Override
     public customer findByUserName(String userName) {
         return customerRepo.findByUserName(userName);
@@ -55,13 +122,17 @@ public class customerServiceImpl implements customerService{
         if (entity.getUserName() == null || entity.getUserName().isEmpty()) {
             throw new InvalidEntityException("Username cannot be empty.");
         }
-        return customerRepo.save(entity);
+        customer saved = customerRepo.save(entity);
+        eventPublisher.publishEvent(CustomerChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     public customer update(customer Entity) {
         customer currentUser = customerRepo.findById(Entity.getId())
         .orElseThrow(() -> new IllegalArgumentException("customer not found"));
+        LocalDate previousDateDebut = currentUser.getDateDebut();
+        LocalDate previousDateFin = currentUser.getDateFin();
 
         currentUser.setUserName(Entity.getUserName());
         currentUser.setEmail(Entity.getEmail());
@@ -71,12 +142,15 @@ public class customerServiceImpl implements customerService{
         currentUser.setPack(Entity.getPack());
         currentUser.setMontPay(Entity.getMontPay());
         
-        return customerRepo.save(currentUser);
+        customer saved = customerRepo.save(currentUser);
+        eventPublisher.publishEvent(CustomerChangedEvent.updated(saved, previousDateDebut, previousDateFin));
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
         customerRepo.deleteById(id);
+        eventPublisher.publishEvent(CustomerChangedEvent.deleted(id));
     }
 
 
@@ -0,0 +1,21 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.entity.ImportJob;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportType;
+import com.BackEnd.Master.GYM.entity.ImportRowError;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface ImportService {
+
+    ImportJob start(ImportType type, MultipartFile file);
+
+    ImportJob resume(Long id);
+
+    ImportJob findById(Long id);
+
+    List<ImportJob> findRecent();
+
+    List<ImportRowError> findErrors(Long id, int page, int size);
+}
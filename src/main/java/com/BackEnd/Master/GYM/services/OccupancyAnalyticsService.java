@@ -0,0 +1,14 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.dto.OccupancyHeatmapDto;
+
+import java.time.LocalDate;
+
+public interface OccupancyAnalyticsService {
+
+    // Sums the weekly rollups of every week touching [from, to]
+    OccupancyHeatmapDto heatmap(LocalDate from, LocalDate to);
+
+    // Adds the pending in-memory deltas to occupancy_rollups
+    void flush();
+}
@@ -0,0 +1,18 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.entity.Pack;
+
+import java.util.List;
+
+public interface PackService {
+
+    Pack findById(Long id);
+
+    List<Pack> findAll();
+
+    List<Pack> findActive();
+
+    Pack create(Pack entity);
+
+    Pack update(Long id, Pack entity);
+}
@@ -0,0 +1,17 @@
+package com.BackEnd.Master.GYM.services;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public interface PasswordService {
+
+    // Runs on the hashing pool; a full queue answers 503 at once instead of queueing more CPU work
+    String hash(String rawPassword);
+
+    boolean matches(String rawPassword, String hash);
+
+    // Keeps the stored hash when the form sends it back unchanged (or sends nothing), hashes otherwise
+    String hashIfChanged(String submitted, String currentHash);
+
+    // PasswordEncoder view on the hashing pool, for the login's authentication provider
+    PasswordEncoder encoder();
+}
@@ -0,0 +1,19 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.dto.PaymentDto;
+import com.BackEnd.Master.GYM.dto.RevenueRollupDto;
+import com.BackEnd.Master.GYM.entity.Payment;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Dimension;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Granularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PaymentService {
+
+    Payment record(PaymentDto payment);
+
+    List<Payment> findByCustomer(Long customerId);
+
+    List<RevenueRollupDto> revenue(Granularity granularity, Dimension dimension, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,13 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.entity.SessionBooking;
+
+import java.util.List;
+
+public interface SessionBookingService {
+    SessionBooking book(Long sessionId, Long customerId);
+
+    SessionBooking cancel(Long sessionId, Long bookingId);
+
+    List<SessionBooking> findConfirmedBySession(Long sessionId);
+}
@@ -0,0 +1,8 @@
+package com.BackEnd.Master.GYM.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface SessionStatusStreamService {
+    // Live stream of today's session transitions (upcoming -> active -> completed) and counts
+    SseEmitter subscribe();
+}
@@ -0,0 +1,16 @@
+package com.BackEnd.Master.GYM.services;
+
+import com.BackEnd.Master.GYM.entity.SessionWaitlistEntry;
+
+import java.util.List;
+
+public interface SessionWaitlistService {
+    SessionWaitlistEntry join(Long sessionId, Long customerId);
+
+    void leave(Long sessionId, Long customerId);
+
+    // 1-based position of the member in the session's waitlist
+    int positionOf(Long sessionId, Long customerId);
+
+    List<SessionWaitlistEntry> findBySession(Long sessionId);
+}
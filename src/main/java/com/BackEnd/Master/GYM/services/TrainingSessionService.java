@@ -1,7 +1,12 @@
 package com.BackEnd.Master.GYM.services;
 
+import com.BackEnd.Master.GYM.dto.BulkSessionChangeDto;
+import com.BackEnd.Master.GYM.dto.FreeSlotDto;
+import com.BackEnd.Master.GYM.dto.SessionRecurrenceDto;
+import com.BackEnd.Master.GYM.dto.SessionStatsDto;
 import com.BackEnd.Master.GYM.entity.TrainingSession;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -16,10 +21,18 @@ public interface TrainingSessionService {
 
     TrainingSession create(TrainingSession entity);
 
+    // Expands a weekly/biweekly rule and inserts every occurrence, returns the number created
+    int createRecurring(SessionRecurrenceDto rule);
+
     TrainingSession update(TrainingSession entity);
 
     void delete(Long id);
 
+    // All-or-nothing: either every selected session moves or none does
+    int bulkReschedule(BulkSessionChangeDto request);
+
+    int bulkCancel(BulkSessionChangeDto request);
+
     // Count all sessions today
     long countByDate(LocalDate date);
 
@@ -27,4 +40,10 @@ public interface TrainingSessionService {
     @Query("SELECT COUNT(t) FROM TrainingSession t WHERE t.date = :date AND t.startTime <= :currentTime AND t.endTime >= :currentTime")
     long countActiveSessions(LocalDate date, LocalTime currentTime);
 
+    // Counts over [startDate, endDate] relative to the given instant, with sport/type breakdowns
+    SessionStatsDto stats(LocalDate startDate, LocalDate endDate, LocalDateTime at);
+
+    // Every gap within opening hours long enough for a session of the given duration
+    List<FreeSlotDto> findFreeSlots(LocalDate startDate, LocalDate endDate, int durationMinutes);
+
 }
\ No newline at end of file
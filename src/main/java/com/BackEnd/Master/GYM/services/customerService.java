@@ -2,6 +2,9 @@ package com.BackEnd.Master.GYM.services;
 
 import java.util.List;
 
+import com.BackEnd.Master.GYM.dto.SegmentQueryDto;
+import com.BackEnd.Master.GYM.dto.SegmentResultDto;
+import com.BackEnd.Master.GYM.dto.customerDto;
 import com.BackEnd.Master.GYM.entity.customer;
 
 public interface customerService {
@@ -24,4 +27,11 @@ public interface customerService {
 
     long count();
 
+    List<customerDto> findExpiring(int days);
+
+    // Ended within the last days days, at most the scanner's lookback (app.customers.expiry.lookback-days)
+    List<customerDto> findExpired(int days);
+
+    SegmentResultDto findSegment(SegmentQueryDto query);
+
 }
@@ -0,0 +1,45 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over 64-bit hashes (the caller hashes its keys), probes derived by double hashing.
+// Thread-safe: bits are only ever set, with CAS.
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int probes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (bits + 63) / 64 * 64);
+        this.probes = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    public void put(long hash) {
+        for (int i = 0; i < probes; i++) {
+            long bit = bit(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                // lost a race on this word, retry
+            }
+        }
+    }
+
+    public boolean mightContain(long hash) {
+        for (int i = 0; i < probes; i++) {
+            long bit = bit(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bit(long hash, int i) {
+        long combined = (hash & 0xFFFFFFFFL) + i * (hash >>> 32);
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+}
@@ -0,0 +1,117 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Streaming RFC 4180 reader: one record at a time, quoted fields may hold commas, "" and line breaks.
+// The first record is the header; records are returned as column -> value maps keyed by lower-cased header.
+public class CsvReader implements Closeable {
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long recordNumber;
+
+    public CsvReader(Reader source) throws IOException {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        List<String> columns = readFields();
+        if (columns == null) {
+            throw new IOException("CSV file is empty");
+        }
+        header = new ArrayList<>();
+        for (String column : columns) {
+            header.add(column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public List<String> header() {
+        return header;
+    }
+
+    // Number of data records returned so far (the header is not counted)
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    public Map<String, String> next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        recordNumber++;
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < fields.size() ? fields.get(i).trim() : "");
+        }
+        return record;
+    }
+
+    public long skip(long records) throws IOException {
+        long skipped = 0;
+        while (skipped < records && next() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    private List<String> readFields() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Line break inside a quoted field
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Unterminated quoted field at record " + (recordNumber + 1));
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Hashed timing wheel: any number of timers share one ticking thread, scheduling and cancelling are O(1).
+// Expired tasks are handed to the given executor so a slow task never delays the wheel.
+public class HashedTimingWheel {
+
+    private final long tickNanos;
+    private final List<Timeout>[] buckets;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Executor taskExecutor;
+    private final ScheduledExecutorService ticker;
+    private final long startNanos = System.nanoTime();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize, Executor taskExecutor) {
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.taskExecutor = taskExecutor;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, (deadline + tickNanos - 1) / tickNanos);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Only ever runs on the ticker thread
+    private void advance() {
+        long elapsedTicks = (System.nanoTime() - startNanos) / tickNanos;
+        while (currentTick <= elapsedTicks) {
+            transferPending();
+            expire(buckets[(int) (currentTick % buckets.length)]);
+            currentTick++;
+        }
+    }
+
+    private void transferPending() {
+        for (Timeout timeout; (timeout = pending.poll()) != null; ) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long targetTick = Math.max(timeout.deadlineTick, currentTick);
+            timeout.remainingRounds = (targetTick - currentTick) / buckets.length;
+            buckets[(int) (targetTick % buckets.length)].add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                taskExecutor.execute(timeout.task);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Roaring-style set of non-negative long ids: ids are split on their low 16 bits into chunks, each chunk
+// stored as a sorted char array while sparse (up to 4096 values) and as a 1024-word bitset once dense.
+// Chunks are immutable, so and/or/andNot results can share them with their operands. Not thread-safe.
+public final class IdBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private final TreeMap<Long, Chunk> chunks = new TreeMap<>();
+
+    public void add(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+        if (chunk == null) {
+            chunks.put(id >>> 16, Chunk.of((char) id));
+        } else {
+            chunks.put(id >>> 16, chunk.add((char) id));
+        }
+    }
+
+    public void remove(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+        if (chunk != null) {
+            Chunk updated = chunk.remove((char) id);
+            if (updated.cardinality == 0) {
+                chunks.remove(id >>> 16);
+            } else {
+                chunks.put(id >>> 16, updated);
+            }
+        }
+    }
+
+    public boolean contains(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+        return chunk != null && chunk.contains((char) id);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (Chunk chunk : chunks.values()) {
+            total += chunk.cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    public IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        IdBitmap small = chunks.size() <= other.chunks.size() ? this : other;
+        IdBitmap large = small == this ? other : this;
+        for (Map.Entry<Long, Chunk> entry : small.chunks.entrySet()) {
+            Chunk match = large.chunks.get(entry.getKey());
+            if (match != null) {
+                result.putIfNotEmpty(entry.getKey(), entry.getValue().and(match));
+            }
+        }
+        return result;
+    }
+
+    public IdBitmap or(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        result.chunks.putAll(chunks);
+        for (Map.Entry<Long, Chunk> entry : other.chunks.entrySet()) {
+            result.chunks.merge(entry.getKey(), entry.getValue(), Chunk::or);
+        }
+        return result;
+    }
+
+    public IdBitmap andNot(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        for (Map.Entry<Long, Chunk> entry : chunks.entrySet()) {
+            Chunk removed = other.chunks.get(entry.getKey());
+            result.putIfNotEmpty(entry.getKey(), removed == null ? entry.getValue() : entry.getValue().andNot(removed));
+        }
+        return result;
+    }
+
+    public static IdBitmap orAll(Iterable<IdBitmap> bitmaps) {
+        IdBitmap result = new IdBitmap();
+        for (IdBitmap bitmap : bitmaps) {
+            for (Map.Entry<Long, Chunk> entry : bitmap.chunks.entrySet()) {
+                result.chunks.merge(entry.getKey(), entry.getValue(), Chunk::or);
+            }
+        }
+        return result;
+    }
+
+    // Ids in ascending order, skipping the first offset; whole chunks are skipped by cardinality
+    public long[] page(long offset, int limit) {
+        long[] ids = new long[(int) Math.max(0, Math.min(limit, cardinality() - offset))];
+        int n = 0;
+        long toSkip = offset;
+        Iterator<Map.Entry<Long, Chunk>> it = chunks.entrySet().iterator();
+        while (n < ids.length && it.hasNext()) {
+            Map.Entry<Long, Chunk> entry = it.next();
+            Chunk chunk = entry.getValue();
+            if (toSkip >= chunk.cardinality) {
+                toSkip -= chunk.cardinality;
+                continue;
+            }
+            long high = entry.getKey() << 16;
+            n = chunk.copyTo(ids, n, (int) toSkip, high);
+            toSkip = 0;
+        }
+        return ids;
+    }
+
+    private void putIfNotEmpty(Long key, Chunk chunk) {
+        if (chunk.cardinality > 0) {
+            chunks.put(key, chunk);
+        }
+    }
+
+    // Immutable: updates return a new chunk
+    private static final class Chunk {
+        private final char[] values;
+        private final long[] bits;
+        private final int cardinality;
+
+        private Chunk(char[] values, long[] bits, int cardinality) {
+            this.values = values;
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        static Chunk of(char value) {
+            return new Chunk(new char[] { value }, null, 1);
+        }
+
+        static Chunk ofArray(char[] values, int size) {
+            return new Chunk(size == values.length ? values : Arrays.copyOf(values, size), null, size);
+        }
+
+        static Chunk ofBits(long[] bits) {
+            int cardinality = 0;
+            for (long word : bits) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > ARRAY_MAX) {
+                return new Chunk(null, bits, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new Chunk(values, null, cardinality);
+        }
+
+        boolean contains(char value) {
+            return values != null
+                    ? Arrays.binarySearch(values, value) >= 0
+                    : (bits[value >>> 6] & (1L << value)) != 0;
+        }
+
+        Chunk add(char value) {
+            if (contains(value)) {
+                return this;
+            }
+            if (values == null) {
+                long[] copy = bits.clone();
+                copy[value >>> 6] |= 1L << value;
+                return new Chunk(null, copy, cardinality + 1);
+            }
+            if (cardinality == ARRAY_MAX) {
+                long[] copy = toBits();
+                copy[value >>> 6] |= 1L << value;
+                return new Chunk(null, copy, cardinality + 1);
+            }
+            int at = -Arrays.binarySearch(values, value) - 1;
+            char[] copy = new char[cardinality + 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            copy[at] = value;
+            System.arraycopy(values, at, copy, at + 1, cardinality - at);
+            return new Chunk(copy, null, cardinality + 1);
+        }
+
+        Chunk remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            if (values == null) {
+                long[] copy = bits.clone();
+                copy[value >>> 6] &= ~(1L << value);
+                return ofBits(copy);
+            }
+            int at = Arrays.binarySearch(values, value);
+            char[] copy = new char[cardinality - 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            System.arraycopy(values, at + 1, copy, at, cardinality - at - 1);
+            return new Chunk(copy, null, cardinality - 1);
+        }
+
+        Chunk and(Chunk other) {
+            if (values != null || other.values != null) {
+                Chunk array = values != null ? this : other;
+                Chunk probe = array == this ? other : this;
+                char[] result = new char[array.cardinality];
+                int n = 0;
+                for (char value : array.values) {
+                    if (probe.contains(value)) {
+                        result[n++] = value;
+                    }
+                }
+                return ofArray(result, n);
+            }
+            long[] result = new long[WORDS];
+            for (int w = 0; w < WORDS; w++) {
+                result[w] = bits[w] & other.bits[w];
+            }
+            return ofBits(result);
+        }
+
+        Chunk or(Chunk other) {
+            if (values != null && other.values != null && cardinality + other.cardinality <= ARRAY_MAX) {
+                char[] result = new char[cardinality + other.cardinality];
+                int i = 0, j = 0, n = 0;
+                while (i < cardinality && j < other.cardinality) {
+                    char a = values[i], b = other.values[j];
+                    result[n++] = a <= b ? a : b;
+                    i += a <= b ? 1 : 0;
+                    j += b <= a ? 1 : 0;
+                }
+                while (i < cardinality) {
+                    result[n++] = values[i++];
+                }
+                while (j < other.cardinality) {
+                    result[n++] = other.values[j++];
+                }
+                return ofArray(result, n);
+            }
+            long[] result = toBits();
+            if (other.values != null) {
+                for (char value : other.values) {
+                    result[value >>> 6] |= 1L << value;
+                }
+            } else {
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] |= other.bits[w];
+                }
+            }
+            return ofBits(result);
+        }
+
+        Chunk andNot(Chunk other) {
+            if (values != null) {
+                char[] result = new char[cardinality];
+                int n = 0;
+                for (char value : values) {
+                    if (!other.contains(value)) {
+                        result[n++] = value;
+                    }
+                }
+                return ofArray(result, n);
+            }
+            long[] result = bits.clone();
+            if (other.values != null) {
+                for (char value : other.values) {
+                    result[value >>> 6] &= ~(1L << value);
+                }
+            } else {
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] &= ~other.bits[w];
+                }
+            }
+            return ofBits(result);
+        }
+
+        long[] toBits() {
+            if (bits != null) {
+                return bits.clone();
+            }
+            long[] result = new long[WORDS];
+            for (char value : values) {
+                result[value >>> 6] |= 1L << value;
+            }
+            return result;
+        }
+
+        // Writes the values after the first skip ones into ids from index n, returns the new n
+        int copyTo(long[] ids, int n, int skip, long high) {
+            if (values != null) {
+                for (int i = skip; i < cardinality && n < ids.length; i++) {
+                    ids[n++] = high | values[i];
+                }
+                return n;
+            }
+            for (int w = 0; w < WORDS && n < ids.length; w++) {
+                for (long word = bits[w]; word != 0 && n < ids.length; word &= word - 1) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        ids[n++] = high | ((w << 6) + Long.numberOfTrailingZeros(word));
+                    }
+                }
+            }
+            return n;
+        }
+    }
+}
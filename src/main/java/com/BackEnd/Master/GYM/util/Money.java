@@ -0,0 +1,25 @@
+package com.BackEnd.Master.GYM.util;
+
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+
+import java.math.BigDecimal;
+
+// Amounts are stored as whole minor units (millimes: 1 TND = 1000) so sums never go through floating point
+public final class Money {
+    public static final int MINOR_DIGITS = 3;
+
+    private Money() {
+    }
+
+    public static long toMinor(BigDecimal amount) {
+        try {
+            return amount.movePointRight(MINOR_DIGITS).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new InvalidEntityException("Amount " + amount + " has more than " + MINOR_DIGITS + " decimals");
+        }
+    }
+
+    public static BigDecimal fromMinor(Long minor) {
+        return minor == null ? null : BigDecimal.valueOf(minor, MINOR_DIGITS);
+    }
+}
@@ -0,0 +1,76 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Text fingerprints: a 64-bit hash of the normalized text for exact repeats, and a 64-bit SimHash over
+// the words for near-duplicates. Single words rather than shingles: contact messages are short, and one
+// edited word would change three 3-shingles out of a dozen.
+public final class SimHash {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    // Lowercased words, punctuation and whitespace runs dropped
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    public static long of(List<String> words) {
+        int[] weights = new int[64];
+        for (String word : words) {
+            long hash = mix(hash(FNV_OFFSET, word));
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1) == 1 ? 1 : -1;
+            }
+        }
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    public static long hash(String... parts) {
+        long hash = FNV_OFFSET;
+        for (String part : parts) {
+            hash = hash(hash, part);
+            hash = (hash ^ 0) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long hash(long hash, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            hash = (hash ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // FNV alone leaves the high bits poorly mixed for short inputs
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,122 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Append-only local file of one-line records, the overflow for work that could not be queued.
+// replay() moves the active file aside (new appends start a fresh one) and hands its lines to the
+// consumer in chunks; the number of lines already consumed is kept in a side file after each chunk, so a
+// replay interrupted by a crash resumes after the last checkpointed chunk instead of starting over.
+// Delivery is at least once: a crash after a chunk was consumed but before its checkpoint was written
+// hands that chunk over again, so consumers must tolerate a repeated chunk.
+// File I/O runs under a ReentrantLock, not a monitor, so a virtual thread blocked in it releases its carrier.
+public class SpoolFile {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Path active;
+    private final Path replaying;
+    private final Path offset;
+    private BufferedWriter writer;
+
+    public SpoolFile(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        this.active = directory.resolve(name + ".spool");
+        this.replaying = directory.resolve(name + ".spool.replay");
+        this.offset = directory.resolve(name + ".spool.offset");
+    }
+
+    // Records must not contain line breaks
+    public void append(String record) throws IOException {
+        lock.lock();
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(active, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(record);
+            writer.newLine();
+            writer.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasPending() {
+        lock.lock();
+        try {
+            return Files.exists(replaying) || Files.exists(active);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the number of records handed to the consumer; a consumer exception stops the replay,
+    // which resumes from the same chunk next time
+    public int replay(int chunkSize, Consumer<List<String>> consumer) throws IOException {
+        lock.lock();
+        try {
+            if (!Files.exists(replaying)) {
+                if (!Files.exists(active)) {
+                    return 0;
+                }
+                closeWriter();
+                Files.move(active, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            lock.unlock();
+        }
+        long consumedLines = Files.exists(offset) ? Long.parseLong(Files.readString(offset).trim()) : 0;
+        long linesRead = 0;
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (++linesRead <= consumedLines || line.isBlank()) {
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    replayed += consume(chunk, consumer, linesRead);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                replayed += consume(chunk, consumer, linesRead);
+            }
+        }
+        Files.deleteIfExists(replaying);
+        Files.deleteIfExists(offset);
+        return replayed;
+    }
+
+    private int consume(List<String> chunk, Consumer<List<String>> consumer, long linesRead) throws IOException {
+        consumer.accept(chunk);
+        Files.writeString(offset, Long.toString(linesRead));
+        return chunk.size();
+    }
+
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closeWriter();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
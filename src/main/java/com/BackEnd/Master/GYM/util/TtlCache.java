@@ -0,0 +1,43 @@
+package com.BackEnd.Master.GYM.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Small expiring cache for short-lived read models (dashboard stats, public lists...)
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public TtlCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.value;
+        }
+        V value = loader.apply(key);
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> now - e.loadedAt >= ttlNanos);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry<>(value, now));
+        return value;
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.BackEnd.Master.GYM.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Bounded, lock-free buffer drained by one writer thread that hands batches to the writer callback
+// once batchSize items are waiting or maxDelay has passed, whichever comes first.
+// offer() never blocks: a full queue throws RejectedExecutionException so callers can shed load.
+// The returned future completes once the item's batch was written (or failed after the retries),
+// so callers choose between fire-and-forget and waiting for durability.
+public class WriteBehindQueue<T> {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final String name;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final int maxRetries;
+    private final Consumer<List<T>> writer;
+
+    private final ConcurrentLinkedQueue<Pending<T>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    public WriteBehindQueue(String name, int capacity, int batchSize, long maxDelay, TimeUnit unit, int maxRetries,
+                            Consumer<List<T>> writer) {
+        this.name = name;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.maxRetries = maxRetries;
+        this.writer = writer;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, name + "-writer");
+        thread.start();
+    }
+
+    // Stops accepting items and flushes what is left before returning
+    public void stop(long timeout, TimeUnit unit) throws InterruptedException {
+        running = false;
+        Thread writerThread = thread;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(unit.toMillis(timeout));
+        }
+        // Offers that raced with stop() after the writer's last drain
+        Pending<T> late;
+        while ((late = queue.poll()) != null) {
+            size.decrementAndGet();
+            late.done.completeExceptionally(new RejectedExecutionException(name + " stopped"));
+        }
+    }
+
+    public CompletableFuture<Void> offer(T item) {
+        if (!running) {
+            throw new RejectedExecutionException(name + " is not running");
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            throw new RejectedExecutionException(name + " is full");
+        }
+        Pending<T> pending = new Pending<>(item, new CompletableFuture<>());
+        queue.offer(pending);
+        if (size.get() >= batchSize) {
+            LockSupport.unpark(thread);
+        }
+        return pending.done;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            long deadline = System.nanoTime() + maxDelayNanos;
+            long remaining;
+            while (running && size.get() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            Pending<T> pending;
+            while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            size.addAndGet(-batch.size());
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.add(pending.item);
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                writer.accept(items);
+                batch.forEach(pending -> pending.done.complete(null));
+                return;
+            } catch (RuntimeException ex) {
+                if (attempt >= maxRetries) {
+                    log.error("{}: dropping {} items after {} attempts", name, items.size(), attempt + 1, ex);
+                    batch.forEach(pending -> pending.done.completeExceptionally(ex));
+                    return;
+                }
+                log.warn("{}: batch of {} failed, retrying: {}", name, items.size(), ex.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L << attempt));
+            }
+        }
+    }
+
+    private record Pending<T>(T item, CompletableFuture<Void> done) {
+    }
+}
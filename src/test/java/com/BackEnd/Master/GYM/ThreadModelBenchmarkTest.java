@@ -0,0 +1,122 @@
+package com.BackEnd.Master.GYM;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Throughput and p99 of the platform-thread Tomcat pool against virtual threads, with benchmark.connections
+// clients looping over a JDBC read and an image download for benchmark.seconds each.
+// Run with: mvn test -Dtest=ThreadModelBenchmarkTest -Dbenchmarks=true [-Dbenchmark.connections=2000]
+// The in-memory test database barely blocks; pass the spring.datasource.* of a MySQL scratch schema to
+// measure the threads actually waiting on JDBC.
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ThreadModelBenchmarkTest {
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 2_000);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 30);
+    private static final int WARMUP_SECONDS = 5;
+    private static final String IMAGE = "thread-model-benchmark.jpg";
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        report("platform threads", platform);
+        report("virtual threads", virtual);
+        assertTrue(platform.requests > 0 && virtual.requests > 0);
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MasterGymApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.root=WARN", "logging.level.com.BackEnd.Master.GYM=WARN",
+                        "logging.level.org.springframework.web=WARN", "logging.level.org.hibernate.SQL=WARN")
+                .run()) {
+            Path image = Path.of(context.getEnvironment().getProperty("app.upload.dir")).resolve(IMAGE);
+            writeImage(image);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> targets = List.of(
+                    URI.create("http://localhost:" + port + "/training-sessions/count/today?date=2030-01-01"),
+                    URI.create("http://localhost:" + port + "/photos/images/" + IMAGE));
+            load(targets, WARMUP_SECONDS);
+            return load(targets, SECONDS);
+        }
+    }
+
+    private static Result load(List<URI> targets, int seconds) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30)).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONNECTIONS; c++) {
+                int offset = c;
+                clients.submit(() -> {
+                    List<Long> own = new ArrayList<>();
+                    for (int i = offset; System.nanoTime() < end; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size()))
+                                .timeout(Duration.ofSeconds(60)).build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                own.add(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    }
+                    latencies.addAll(own);
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+        long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * 0.99) - 1));
+        return new Result(sorted.size(), errors.get(), elapsed, p50, p99);
+    }
+
+    private static void writeImage(Path image) throws IOException {
+        Files.createDirectories(image.getParent());
+        byte[] bytes = new byte[200 * 1024];
+        new Random(42).nextBytes(bytes);
+        Files.write(image, bytes);
+    }
+
+    private static void report(String label, Result result) {
+        System.out.printf("%-18s %,d connections: %,.0f req/s, p50 %,d ms, p99 %,d ms, %,d errors%n", label, CONNECTIONS,
+                result.requests * 1e9 / result.elapsedNanos, result.p50Nanos / 1_000_000, result.p99Nanos / 1_000_000,
+                result.errors);
+    }
+
+    private record Result(long requests, long errors, long elapsedNanos, long p50Nanos, long p99Nanos) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.BackEnd.Master.GYM;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.sql.Connection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Handle;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.BackEnd.Master.GYM.entity.Album;
+import com.BackEnd.Master.GYM.index.OccupancyHeatmap;
+import com.BackEnd.Master.GYM.services.AlbumService;
+import com.BackEnd.Master.GYM.services.OccupancyAnalyticsService;
+import com.BackEnd.Master.GYM.util.SpoolFile;
+
+import javax.sql.DataSource;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+// A virtual thread that blocks while holding a monitor (synchronized) can't unmount and keeps its carrier:
+// with a handful of carriers, a few such threads stall every request. Monitors must not be held around
+// JDBC, file or network I/O; those sections take a java.util.concurrent lock instead.
+// The audit reads our bytecode; the JFR check runs the known hot paths on virtual threads under
+// connection pool contention and fails on any jdk.VirtualThreadPinned event raised through our code.
+// A short connection timeout: with one carrier, a single pinned wait for a connection stalls the threads
+// that would hand one back, until the wait times out
+@SpringBootTest(properties = { "spring.threads.virtual.enabled=true", "spring.datasource.hikari.connection-timeout=2000" })
+class VirtualThreadPinningTest {
+    private static final String OWN = "com/BackEnd/Master/GYM/";
+
+    // Calls (owner/method prefixes) that may block on I/O or on another thread
+    private static final List<String> BLOCKING = List.of(
+            "java/sql/", "javax/sql/", "java/io/", "java/nio/file/", "java/nio/channels/", "java/net/",
+            "java/util/concurrent/BlockingQueue.put", "java/util/concurrent/BlockingQueue.take",
+            "java/util/concurrent/Future.get", "java/util/concurrent/CompletableFuture.get",
+            "java/util/concurrent/CompletableFuture.join", "java/lang/Thread.sleep", "java/lang/Thread.join",
+            "org/springframework/jdbc/", "org/springframework/transaction/", "org/springframework/data/",
+            "org/springframework/web/client/", "jakarta/persistence/", "org/hibernate/", "com/zaxxer/hikari/",
+            OWN + "repository/");
+
+    @Autowired
+    private AlbumService albumService;
+    @Autowired
+    private OccupancyAnalyticsService occupancyAnalyticsService;
+    @Autowired
+    private OccupancyHeatmap heatmap;
+    @Autowired
+    private DataSource dataSource;
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Test
+    void noMonitorIsHeldAroundBlockingCalls() throws IOException, URISyntaxException {
+        Map<String, MethodInfo> methods = new HashMap<>();
+        Map<String, Set<String>> implementations = new HashMap<>();
+        Path classes = Path.of(MasterGymApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (Stream<Path> files = Files.walk(classes.resolve(OWN))) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".class")).toList()) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    new ClassReader(in).accept(new Scanner(methods, implementations), ClassReader.SKIP_DEBUG);
+                }
+            }
+        }
+
+        List<String> violations = new ArrayList<>();
+        methods.forEach((key, method) -> {
+            if (method.holdsMonitor) {
+                String blocking = findBlockingCall(key, methods, implementations);
+                if (blocking != null) {
+                    violations.add(key + " holds a monitor around " + blocking);
+                }
+            }
+        });
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    @Test
+    void noPinnedParkOnHotPaths(@TempDir Path spoolDir) throws Exception {
+        SpoolFile spool = new SpoolFile(spoolDir, "pinning");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            List<String> failures = new ArrayList<>();
+
+            // Every pooled connection is held for a moment while the hot paths start, so each of them
+            // parks waiting for a connection
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                CountDownLatch held = new CountDownLatch(poolSize);
+                for (int i = 0; i < poolSize; i++) {
+                    executor.submit(() -> {
+                        try (Connection connection = dataSource.getConnection()) {
+                            connection.isValid(1);
+                            held.countDown();
+                            Thread.sleep(300);
+                        }
+                        return null;
+                    });
+                }
+                held.await();
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    int n = i;
+                    tasks.add(executor.submit(() -> {
+                        heatmap.recordCheckIn(LocalDateTime.now());
+                        occupancyAnalyticsService.flush();
+                        albumService.insert(album("pinning " + n));
+                        albumService.findAll();
+                        spool.append("record " + n);
+                        return null;
+                    }));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+                for (Future<?> task : tasks) {
+                    try {
+                        task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    } catch (ExecutionException ex) {
+                        failures.add(ex.getCause().toString());
+                    } catch (TimeoutException ex) {
+                        failures.add("Hot paths still running after 60s: carrier threads starved, most likely pinned");
+                        executor.shutdownNow();
+                        break;
+                    }
+                }
+            }
+
+            recording.stop();
+            Path dump = spoolDir.resolve("pinning.jfr");
+            recording.dump(dump);
+            List<String> pinned = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if (event.getStackTrace() != null && event.getStackTrace().getFrames().stream().anyMatch(this::isOwnFrame)) {
+                    pinned.add(event.getStackTrace().getFrames().stream()
+                            .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName())
+                            .limit(20).toList().toString());
+                }
+            }
+            assertTrue(pinned.isEmpty(), "Pinned virtual threads:\n" + String.join("\n", pinned));
+            assertTrue(failures.isEmpty(), String.join("\n", failures));
+            assertEquals(64, spool.replay(16, chunk -> { }));
+            spool.close();
+        }
+    }
+
+    private boolean isOwnFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith(OWN.replace('/', '.')) && !type.startsWith(getClass().getName());
+    }
+
+    // Follows calls into our own classes (interfaces to their implementations) until a blocking owner
+    private static String findBlockingCall(String start, Map<String, MethodInfo> methods, Map<String, Set<String>> implementations) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(start));
+        while (!pending.isEmpty()) {
+            MethodInfo method = methods.get(pending.pop());
+            if (method == null) {
+                continue;
+            }
+            for (String call : method.calls) {
+                String owner = call.substring(0, call.indexOf('.'));
+                if (BLOCKING.stream().anyMatch(call::startsWith) && !owner.endsWith("Exception")) {
+                    return call;
+                }
+                if (owner.startsWith(OWN)) {
+                    String member = call.substring(call.indexOf('.'));
+                    for (String target : implementations.getOrDefault(owner, Set.of(owner))) {
+                        if (seen.add(target + member)) {
+                            pending.push(target + member);
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Album album(String name) {
+        Album album = new Album();
+        album.setName(name);
+        return album;
+    }
+
+    private static final class MethodInfo {
+        boolean holdsMonitor;
+        final Set<String> calls = new TreeSet<>();
+    }
+
+    private static final class Scanner extends ClassVisitor {
+        private final Map<String, MethodInfo> methods;
+        private final Map<String, Set<String>> implementations;
+        private String owner;
+
+        Scanner(Map<String, MethodInfo> methods, Map<String, Set<String>> implementations) {
+            super(Opcodes.ASM9);
+            this.methods = methods;
+            this.implementations = implementations;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            owner = name;
+            implementations.computeIfAbsent(name, k -> new HashSet<>()).add(name);
+            for (String type : interfaces) {
+                implementations.computeIfAbsent(type, k -> new HashSet<>()).add(name);
+            }
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            MethodInfo method = new MethodInfo();
+            method.holdsMonitor = (access & Opcodes.ACC_SYNCHRONIZED) != 0;
+            methods.put(owner + "." + name + descriptor, method);
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        method.holdsMonitor = true;
+                    }
+                }
+
+                @Override
+                public void visitMethodInsn(int opcode, String callOwner, String callName, String callDescriptor, boolean isInterface) {
+                    method.calls.add(callOwner + "." + callName + callDescriptor);
+                }
+
+                // Lambda bodies are calls too
+                @Override
+                public void visitInvokeDynamicInsn(String callName, String callDescriptor, Handle bootstrap, Object... arguments) {
+                    for (Object argument : arguments) {
+                        if (argument instanceof Handle handle) {
+                            method.calls.add(handle.getOwner() + "." + handle.getName() + handle.getDesc());
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
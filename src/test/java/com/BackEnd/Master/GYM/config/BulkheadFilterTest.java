@@ -0,0 +1,90 @@
+package com.BackEnd.Master.GYM.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkheadFilter filter = new BulkheadFilter(properties(), meterRegistry);
+
+    @Test
+    void aFullGroupRejectsWithoutTouchingTheOthers() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Holds the only image slot
+            Future<Integer> first = executor.submit(() -> call("/photos/images/a.jpg", () -> {
+                inside.countDown();
+                release.await();
+            }).getStatus());
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+            assertEquals(1.0, meterRegistry.get("bulkhead.active").tag("group", "images").gauge().value());
+
+            MockHttpServletResponse rejected = call("/customer/images/b.jpg", () -> { });
+            assertEquals(503, rejected.getStatus());
+            assertEquals("2", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("Service Busy"));
+
+            assertEquals(200, call("/auth/login", () -> { }).getStatus());
+            assertEquals(200, call("/packs", () -> { }).getStatus());
+
+            release.countDown();
+            assertEquals(200, first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(200, call("/photos/images/c.jpg", () -> { }).getStatus());
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected").tag("group", "images").counter().count());
+        assertEquals(0.0, meterRegistry.get("bulkhead.rejected").tag("group", "auth").counter().count());
+        assertEquals(0.0, meterRegistry.get("bulkhead.active").tag("group", "images").gauge().value());
+    }
+
+    private MockHttpServletResponse call(String path, Work work) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            try {
+                work.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return response;
+    }
+
+    private static BulkheadProperties properties() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setGroups(List.of(group("images", 1, 0, "/photos/images/**", "/customer/images/**"),
+                group("auth", 1, 0, "/auth/**")));
+        properties.getGroups().get(0).setRetryAfterSeconds(2);
+        return properties;
+    }
+
+    private static BulkheadProperties.Group group(String name, int maxConcurrent, int maxQueued, String... paths) {
+        BulkheadProperties.Group group = new BulkheadProperties.Group();
+        group.setName(name);
+        group.setPaths(List.of(paths));
+        group.setMaxConcurrent(maxConcurrent);
+        group.setMaxQueued(maxQueued);
+        return group;
+    }
+
+    private interface Work {
+        void run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,108 @@
+package com.BackEnd.Master.GYM.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.BackEnd.Master.GYM.entity.Album;
+import com.BackEnd.Master.GYM.services.AlbumService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+
+// Primary and replica are two separate H2 databases; the replica holds an album the primary doesn't have,
+// so which one answered a service read shows in the result
+@SpringBootTest(properties = "app.datasource.replica.url=jdbc:h2:mem:megagym_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private AlbumService albumService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM photos");
+        jdbcTemplate.update("DELETE FROM albums");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS albums (id BIGINT PRIMARY KEY, name VARCHAR(255), description VARCHAR(255))");
+        replica.update("MERGE INTO albums (id, name, description) KEY (id) VALUES (1, 'replica', NULL)");
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadFromTheReplica() {
+        assertEquals(List.of("replica"), names(albumService.findAll()));
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+    }
+
+    @Test
+    void writesAndRepositoryReadsStayOnThePrimary() {
+        Album saved = albumService.insert(album("primary"));
+
+        // findByName runs in the repository's own read-only transaction, not a service one
+        assertEquals(saved.getId(), albumService.findByName("primary").orElseThrow().getId());
+        assertEquals(List.of("replica"), names(albumService.findAll()));
+        assertNotNull(meterRegistry.find("app.datasource.routed.connections").tag("target", "primary").counter());
+    }
+
+    @Test
+    void aRequestThatWroteKeepsReadingFromThePrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteUser("coach");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            assertEquals(List.of("replica"), names(albumService.findAll()));
+            albumService.insert(album("primary"));
+            assertEquals(List.of("primary"), names(albumService.findAll()));
+        });
+
+        // Same caller, next request: still within the pin window
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> assertEquals(List.of("primary"), names(albumService.findAll())));
+
+        MockHttpServletRequest other = new MockHttpServletRequest();
+        other.setRemoteUser("admin");
+        filter.doFilter(other, new MockHttpServletResponse(),
+                (req, res) -> assertEquals(List.of("replica"), names(albumService.findAll())));
+    }
+
+    @Test
+    void readsOutsideATransactionDoNotPinTheCaller() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteUser("reader");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            // Like an open-in-view lazy load: primary connection, no transaction
+            assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM albums", Long.class));
+            assertEquals(List.of("replica"), names(albumService.findAll()));
+        });
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> assertEquals(List.of("replica"), names(albumService.findAll())));
+    }
+
+    private static Album album(String name) {
+        Album album = new Album();
+        album.setName(name);
+        return album;
+    }
+
+    private static List<String> names(List<Album> albums) {
+        return albums.stream().map(Album::getName).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.BackEnd.Master.GYM.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.BackEnd.Master.GYM.entity.Album;
+import com.BackEnd.Master.GYM.services.AlbumService;
+import com.BackEnd.Master.GYM.services.TrainingSessionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = { "app.datasource.reporting.enabled=true",
+        "app.datasource.reporting.transactions=TrainingSessionServiceImpl.stats" })
+class ReportingRoutingTest {
+
+    @Autowired
+    private TrainingSessionService trainingSessionService;
+    @Autowired
+    private AlbumService albumService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void listedReportsUseTheReportingPoolAndEverythingElseTheMainOne() {
+        double before = reportingConnections();
+
+        LocalDate today = LocalDate.now();
+        assertNotNull(trainingSessionService.stats(today, today.plusDays(7), LocalDateTime.now()));
+        assertEquals(before + 1, reportingConnections());
+
+        Album album = new Album();
+        album.setName("reporting");
+        albumService.insert(album);
+        albumService.findAll();
+        assertEquals(before + 1, reportingConnections());
+
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", ReportingRoutingDataSource.REPORTING).gauge());
+    }
+
+    private double reportingConnections() {
+        return meterRegistry.get("app.datasource.routed.connections").tag("target", ReportingRoutingDataSource.REPORTING)
+                .counter().count();
+    }
+}
@@ -0,0 +1,56 @@
+package com.BackEnd.Master.GYM.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.BackEnd.Master.GYM.Mapper.customerMapperImpl;
+import com.BackEnd.Master.GYM.dto.customerDto;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.events.CustomerChangedEvent;
+
+// The scanner reads batches outside the index lock, so a batch can be older than a change event that
+// was applied to the window under construction
+class MembershipExpiryIndexTest {
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 15);
+
+    private final MembershipExpiryIndex index = new MembershipExpiryIndex(new customerMapperImpl());
+
+    @Test
+    void staleBatchesDoNotUndoChangesMadeDuringARebuild() {
+        index.beginRebuild(TODAY.minusDays(30), TODAY.plusDays(30));
+        customer extendedBefore = member(1L, TODAY.plusDays(5));
+        customer deletedBefore = member(2L, TODAY.plusDays(6));
+        customer untouched = member(3L, TODAY.plusDays(7));
+
+        index.onCustomerChanged(CustomerChangedEvent.updated(member(1L, TODAY.plusDays(20)), TODAY, TODAY.plusDays(5)));
+        index.onCustomerChanged(CustomerChangedEvent.deleted(2L));
+        index.addAll(List.of(extendedBefore, deletedBefore, untouched));
+        index.finishRebuild();
+
+        List<customerDto> window = index.between(TODAY.minusDays(30), TODAY.plusDays(30));
+        assertEquals(List.of(3L, 1L), window.stream().map(customerDto::getId).toList());
+        assertEquals(TODAY.plusDays(20), window.get(1).getDateFin());
+        assertTrue(index.between(TODAY.plusDays(5), TODAY.plusDays(6)).isEmpty());
+
+        // The next rebuild starts clean and takes batches as read
+        index.beginRebuild(TODAY.minusDays(30), TODAY.plusDays(30));
+        index.addAll(List.of(extendedBefore, untouched));
+        index.finishRebuild();
+        assertEquals(List.of(1L, 3L), index.between(TODAY.minusDays(30), TODAY.plusDays(30)).stream()
+                .map(customerDto::getId).toList());
+    }
+
+    private static customer member(Long id, LocalDate dateFin) {
+        customer member = new customer();
+        member.setId(id);
+        member.setUserName("member" + id);
+        member.setDateDebut(TODAY.minusDays(60));
+        member.setDateFin(dateFin);
+        return member;
+    }
+}
@@ -0,0 +1,154 @@
+package com.BackEnd.Master.GYM.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.BackEnd.Master.GYM.Exceptions.InvalidEntityException;
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.index.SessionCapacityTracker.Capacity;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+import com.BackEnd.Master.GYM.services.SessionBookingService;
+
+// Bookings go through the service, so the tracker is checked together with the real conditional
+// "UPDATE ... booked_count < max_participants" and the active booking unique key
+@SpringBootTest
+class SessionCapacityTrackerTest {
+
+    @Autowired
+    private SessionBookingService sessionBookingService;
+    @Autowired
+    private TrainingSessionRepo trainingSessionRepo;
+    @Autowired
+    private customerRepo customerRepo;
+
+    @Test
+    void neverOverbooksUnderContention() throws Exception {
+        int capacity = 5;
+        List<Long> sessions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            sessions.add(session(capacity).getId());
+        }
+        List<Long> members = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            members.add(member("contention-" + i).getId());
+        }
+
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (Long member : members) {
+            for (Long session : sessions) {
+                attempts.add(() -> book(session, member));
+            }
+        }
+        List<Boolean> results = runTogether(attempts);
+
+        assertEquals(sessions.size() * capacity, results.stream().filter(Boolean::booleanValue).count());
+        for (Long session : sessions) {
+            assertEquals(capacity, trainingSessionRepo.findById(session).orElseThrow().getBookedCount());
+            assertEquals(capacity, sessionBookingService.findConfirmedBySession(session).size());
+        }
+    }
+
+    @Test
+    void aMemberBooksASessionOnlyOnceUnderContention() throws Exception {
+        Long session = session(null).getId();
+        Long member = member("twice").getId();
+
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(() -> book(session, member));
+        }
+        List<Boolean> results = runTogether(attempts);
+
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count());
+        assertEquals(1, sessionBookingService.findConfirmedBySession(session).size());
+        assertEquals(1, trainingSessionRepo.findById(session).orElseThrow().getBookedCount());
+
+        // Cancelling frees the key, the member can book again
+        sessionBookingService.cancel(session, sessionBookingService.findConfirmedBySession(session).get(0).getId());
+        assertTrue(book(session, member));
+    }
+
+    @Test
+    void releaseNeverGoesPastTheLimit() {
+        SessionCapacityTracker tracker = new SessionCapacityTracker();
+
+        // Two bookings made before the counter was loaded, both cancelled afterwards
+        assertFalse(tracker.tryAcquire(1L, () -> new Capacity(0, 2)));
+        tracker.release(1L);
+        tracker.release(1L);
+        tracker.release(1L);
+        assertTrue(tracker.tryAcquire(1L, () -> new Capacity(0, 2)));
+        assertTrue(tracker.tryAcquire(1L, () -> new Capacity(0, 2)));
+        assertFalse(tracker.tryAcquire(1L, () -> new Capacity(0, 2)));
+
+        assertTrue(tracker.tryAcquire(2L, () -> Capacity.UNLIMITED));
+        tracker.release(2L);
+        tracker.release(2L);
+        assertTrue(tracker.tryAcquire(2L, () -> Capacity.UNLIMITED));
+    }
+
+    private boolean book(Long session, Long member) {
+        try {
+            sessionBookingService.book(session, member);
+            return true;
+        } catch (InvalidEntityException ex) {
+            return false;
+        }
+    }
+
+    private static List<Boolean> runTogether(List<Callable<Boolean>> attempts) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (Callable<Boolean> attempt : attempts) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return attempt.call();
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private TrainingSession session(Integer maxParticipants) {
+        TrainingSession session = new TrainingSession();
+        session.setDate(LocalDate.now().plusDays(3));
+        session.setStartTime(LocalTime.of(18, 0));
+        session.setEndTime(LocalTime.of(19, 0));
+        session.setSportName("Spinning");
+        session.setSessionType(TrainingSession.SessionType.GROUP);
+        session.setMaxParticipants(maxParticipants);
+        return trainingSessionRepo.save(session);
+    }
+
+    private customer member(String name) {
+        customer member = new customer();
+        member.setUserName(name);
+        member.setEmail(name + "@mail.test");
+        return customerRepo.save(member);
+    }
+}
@@ -0,0 +1,69 @@
+package com.BackEnd.Master.GYM.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.BackEnd.Master.GYM.index.WaitlistIndex.SessionQueue;
+
+// Positions are reserved when a member joins but only added once the join commits, so adds can arrive
+// out of order
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+class WaitlistIndexTest {
+
+    @Test
+    void ranksFollowPositionsWhateverOrderJoinsCommitIn() {
+        SessionQueue queue = new SessionQueue();
+        long first = queue.reserveNext();
+        long second = queue.reserveNext();
+        long third = queue.reserveNext();
+
+        queue.add(12L, second);
+        queue.add(13L, third);
+        queue.add(11L, first);
+
+        assertEquals(1, queue.rankOf(11L));
+        assertEquals(2, queue.rankOf(12L));
+        assertEquals(3, queue.rankOf(13L));
+
+        queue.remove(11L);
+        assertNull(queue.rankOf(11L));
+        assertEquals(1, queue.rankOf(12L));
+        assertEquals(2, queue.rankOf(13L));
+    }
+
+    @Test
+    void loadedQueuesKeepTheirOriginAndGrow() {
+        SessionQueue queue = new SessionQueue();
+        // As loaded from the DB, in position order with gaps left by members who left
+        queue.add(1L, 40);
+        queue.add(2L, 45);
+
+        long later = queue.reserveNext();
+        long last = queue.reserveNext();
+        queue.add(4L, last + 200);
+        queue.add(3L, later);
+
+        assertEquals(1, queue.rankOf(1L));
+        assertEquals(2, queue.rankOf(2L));
+        assertEquals(3, queue.rankOf(3L));
+        assertEquals(4, queue.rankOf(4L));
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    void rejectsPositionsBeforeTheOrigin() {
+        SessionQueue queue = new SessionQueue();
+        queue.add(1L, 40);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.add(2L, 39));
+        assertFalse(queue.contains(2L));
+        assertEquals(1, queue.rankOf(1L));
+    }
+}
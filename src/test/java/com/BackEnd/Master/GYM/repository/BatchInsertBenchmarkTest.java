@@ -0,0 +1,123 @@
+package com.BackEnd.Master.GYM.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.entity.TrainingSession.SessionType;
+
+import jakarta.persistence.EntityManager;
+
+// Inserting training sessions: one round trip per row with a DB-generated key (what IDENTITY forces
+// Hibernate to do) against Hibernate batching on pooled ids and the JDBC batch path.
+// Run with: mvn test -Dtest=BatchInsertBenchmarkTest -Dbenchmarks=true [-Dbenchmark.rows=100000]
+// Against MySQL, pass the spring.datasource.* of a scratch schema to see the rewriteBatchedStatements effect.
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BatchInsertBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TrainingSessionBatchRepo trainingSessionBatchRepo;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS benchmark_identity_sessions");
+        jdbcTemplate.update("DELETE FROM training_sessions");
+    }
+
+    @Test
+    void identityRowByRowVersusPooledBatches() {
+        jdbcTemplate.execute("CREATE TABLE benchmark_identity_sessions (id BIGINT AUTO_INCREMENT PRIMARY KEY, date DATE, "
+                + "start_time TIME, end_time TIME, sport_name VARCHAR(255), session_type VARCHAR(32), max_participants INT)");
+        long identity = time(() -> transactionTemplate.executeWithoutResult(status -> {
+            for (TrainingSession s : sessions()) {
+                GeneratedKeyHolder key = new GeneratedKeyHolder();
+                jdbcTemplate.update(c -> {
+                    PreparedStatement ps = c.prepareStatement("INSERT INTO benchmark_identity_sessions (date, start_time, end_time, "
+                            + "sport_name, session_type, max_participants) VALUES (?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+                    ps.setDate(1, Date.valueOf(s.getDate()));
+                    ps.setTime(2, Time.valueOf(s.getStartTime()));
+                    ps.setTime(3, Time.valueOf(s.getEndTime()));
+                    ps.setString(4, s.getSportName());
+                    ps.setString(5, s.getSessionType().name());
+                    ps.setInt(6, s.getMaxParticipants());
+                    return ps;
+                }, key);
+            }
+        }));
+
+        long hibernate = time(() -> transactionTemplate.executeWithoutResult(status -> {
+            int pending = 0;
+            for (TrainingSession s : sessions()) {
+                entityManager.persist(s);
+                if (++pending % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }));
+
+        long jdbc = time(() -> transactionTemplate.executeWithoutResult(status -> trainingSessionBatchRepo.insertAll(sessions())));
+
+        report("IDENTITY, row by row", identity);
+        report("pooled ids, Hibernate batches", hibernate);
+        report("pooled ids, JDBC batches", jdbc);
+
+        // Both pooled paths draw from the same generator, so no id may repeat
+        assertEquals(2L * ROWS, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM training_sessions", Long.class));
+    }
+
+    private static List<TrainingSession> sessions() {
+        List<TrainingSession> sessions = new ArrayList<>(ROWS);
+        LocalDate first = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            TrainingSession s = new TrainingSession();
+            s.setDate(first.plusDays(i / 12));
+            s.setStartTime(LocalTime.of(6 + i % 12, 0));
+            s.setEndTime(LocalTime.of(6 + i % 12, 50));
+            s.setSportName("Bench " + i % 7);
+            s.setSessionType(SessionType.values()[i % SessionType.values().length]);
+            s.setMaxParticipants(20);
+            sessions.add(s);
+        }
+        return sessions;
+    }
+
+    private static long time(Runnable run) {
+        long start = System.nanoTime();
+        run.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String label, long nanos) {
+        System.out.printf("%-32s %,d rows in %,d ms (%,.0f rows/s)%n", label, ROWS, nanos / 1_000_000, ROWS * 1e9 / nanos);
+    }
+}
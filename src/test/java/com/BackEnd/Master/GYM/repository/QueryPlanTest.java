@@ -0,0 +1,433 @@
+package com.BackEnd.Master.GYM.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.Repository;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BackEnd.Master.GYM.config.RetentionProperties;
+import com.BackEnd.Master.GYM.entity.ImportJob.ImportStatus;
+import com.BackEnd.Master.GYM.entity.MessageStatus;
+import com.BackEnd.Master.GYM.entity.OccupancyRollup.Metric;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Dimension;
+import com.BackEnd.Master.GYM.entity.RevenueRollup.Granularity;
+import com.BackEnd.Master.GYM.entity.SessionBooking.BookingStatus;
+
+// Runs every repository query once against a seeded H2 database and EXPLAINs each statement it sent.
+// A table scan of a table holding more than SCAN_THRESHOLD rows fails the test, unless the query is in
+// EXPECTED_SCANS (it reads the whole table by design). A repository method without a case fails too,
+// so new queries get a plan check. H2 picks plans much like MySQL for these shapes, not identically:
+// this catches missing indexes, run EXPLAIN on MySQL for the finer points.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@Import(QueryPlanTest.RecordingConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final int ROWS = 5_000;
+    private static final int SCAN_THRESHOLD = 1_000;
+    private static final long SEED_ID = 1_000_000;
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* (\\w+)\\.(\\w+)\\.tableScan");
+
+    private static final Set<String> EXPECTED_SCANS = Set.of(
+            // Substring searches and whole-table reads
+            "AppUserRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase",
+            "AppUserRepo.findAllUserNamesLowerCase",
+            "customerRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase",
+            "customerRepo.findAllUserNamesLowerCase",
+            "customerRepo.findDistinctPacks",
+            "ContactMessageRepo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrMessageContainingIgnoreCase",
+            "ContactMessageRepo.findByStatusAndNameContainingIgnoreCaseOrStatusAndEmailContainingIgnoreCaseOrStatusAndMessageContainingIgnoreCase",
+            // Bulk moderation filters are all optional
+            "ContactMessageRepo.updateStatusMatching",
+            "ContactMessageRepo.findIdsMatching",
+            // One-off backfills
+            "SessionBookingRepo.backfillActiveCustomerIds",
+            "OccupancyRollupRepo.countCheckInsByHour",
+            "OccupancyRollupRepo.countBookingsByHour");
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private AlbumRepo albumRepo;
+    @Autowired
+    private AppUserRepo appUserRepo;
+    @Autowired
+    private CheckInRepo checkInRepo;
+    @Autowired
+    private CheckInRevocationRepo checkInRevocationRepo;
+    @Autowired
+    private ContactMessageRepo contactMessageRepo;
+    @Autowired
+    private customerRepo customerRepo;
+    @Autowired
+    private ImportJobRepo importJobRepo;
+    @Autowired
+    private ImportRowErrorRepo importRowErrorRepo;
+    @Autowired
+    private OccupancyRollupRepo occupancyRollupRepo;
+    @Autowired
+    private PackRepo packRepo;
+    @Autowired
+    private PaymentRepo paymentRepo;
+    @Autowired
+    private PhotoRepo photoRepo;
+    @Autowired
+    private RevenueRollupRepo revenueRollupRepo;
+    @Autowired
+    private RolesRepo rolesRepo;
+    @Autowired
+    private SessionBookingRepo sessionBookingRepo;
+    @Autowired
+    private SessionWaitlistRepo sessionWaitlistRepo;
+    @Autowired
+    private TrainingSessionRepo trainingSessionRepo;
+    @Autowired
+    private TrainingSessionArchiveRepo trainingSessionArchiveRepo;
+    @Autowired
+    private RetentionRepo retentionRepo;
+
+    @BeforeAll
+    void seed() {
+        long roleId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM app_roles", Long.class);
+        seed("INSERT INTO app_user (id, user_name, email, telephone, role_id) "
+                + "SELECT ?1 + x, 'user' || x, 'user' || x || '@mail.test', '0600' || x, ?2 FROM system_range(1, ?3) r(x)",
+                SEED_ID, roleId, ROWS);
+        seed("INSERT INTO customers (id, user_name, email, telephone, pack, date_debut, date_fin, user_id) "
+                + "SELECT ?1 + x, 'customer' || x, 'customer' || x || '@mail.test', '0700' || x, 'Pack ' || MOD(x, 5), "
+                + "DATEADD(DAY, MOD(x, 700) - 400, CURRENT_DATE), DATEADD(DAY, MOD(x, 700) - 35, CURRENT_DATE), ?1 + MOD(x, 50) + 1 "
+                + "FROM system_range(1, ?2) r(x)", SEED_ID, ROWS);
+        seed("INSERT INTO packs (id, name, active, duration_days, price_minor) "
+                + "SELECT ?1 + x, 'Pack ' || x, x < 15, 30, 5000 FROM system_range(1, 20) r(x)", SEED_ID);
+        seed("INSERT INTO albums (id, name) SELECT ?1 + x, 'Album ' || x FROM system_range(1, 50) r(x)", SEED_ID);
+        seed("INSERT INTO photos (id, name, image_name, upload_date, album_id) "
+                + "SELECT ?1 + x, 'Photo ' || x, 'photo' || x || '.jpg', CURRENT_DATE, ?1 + MOD(x, 50) + 1 FROM system_range(1, ?2) r(x)",
+                SEED_ID, ROWS);
+        seed("INSERT INTO training_sessions (id, date, start_time, end_time, sport_name, session_type, max_participants, booked_count) "
+                + "SELECT ?1 + x, DATEADD(DAY, x / 10 - 250, CURRENT_DATE), DATEADD(HOUR, MOD(x, 10) + 7, TIME '00:00:00'), "
+                + "DATEADD(HOUR, MOD(x, 10) + 8, TIME '00:00:00'), 'Sport ' || MOD(x, 6), 'GROUP', 20, 0 FROM system_range(1, ?2) r(x)",
+                SEED_ID, ROWS);
+        seed("INSERT INTO session_bookings (id, session_id, customer_id, status, booked_at, active_customer_id) "
+                + "SELECT ?1 + x, ?1 + MOD(x, ?2) + 1, ?1 + MOD(x * 7 + x / ?2, ?2) + 1, CASE WHEN MOD(x, 9) = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, "
+                + "DATEADD(MINUTE, -x * 30, CURRENT_TIMESTAMP), CASE WHEN MOD(x, 9) = 0 THEN NULL ELSE ?1 + MOD(x * 7 + x / ?2, ?2) + 1 END "
+                + "FROM system_range(1, ?3) r(x)", SEED_ID, ROWS, 4 * ROWS);
+        seed("INSERT INTO session_waitlist (id, session_id, customer_id, position, joined_at) "
+                + "SELECT ?1 + x, ?1 + MOD(x, ?2) + 1, ?1 + x, x, CURRENT_TIMESTAMP FROM system_range(1, ?2) r(x)", SEED_ID, ROWS);
+        seed("INSERT INTO check_ins (id, customer_id, checked_in_at, source) "
+                + "SELECT ?1 + x, ?1 + MOD(x, ?2) + 1, DATEADD(MINUTE, -x * 10, CURRENT_TIMESTAMP), 'desk' FROM system_range(1, ?3) r(x)",
+                SEED_ID, ROWS, 4 * ROWS);
+        seed("INSERT INTO check_in_revocations (customer_id, revoked_at) "
+                + "SELECT ?1 + x, DATEADD(MINUTE, -x, CURRENT_TIMESTAMP) FROM system_range(1, ?2) r(x)", SEED_ID, ROWS);
+        seed("INSERT INTO contact_messages (id, name, email, message, status, created_at, content_hash, duplicate_count) "
+                + "SELECT ?1 + x, 'Sender ' || x, 'sender' || x || '@mail.test', 'Message number ' || x, "
+                + "CASE MOD(x, 3) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, "
+                + "DATEADD(HOUR, -x, CURRENT_TIMESTAMP), x * 31, 0 FROM system_range(1, ?2) r(x)", SEED_ID, ROWS);
+        seed("INSERT INTO payments (id, customer_id, amount_minor, paid_at, method) "
+                + "SELECT ?1 + x, ?1 + MOD(x, ?2) + 1, 5000, DATEADD(DAY, -MOD(x, 700), CURRENT_TIMESTAMP), 'cash' FROM system_range(1, ?2) r(x)",
+                SEED_ID, ROWS);
+        seed("INSERT INTO revenue_rollups (id, granularity, period_start, dimension, dimension_id, amount_minor, payment_count) "
+                + "SELECT ?1 + x, 'DAY', DATEADD(DAY, -(x / 3), CURRENT_DATE), CASE MOD(x, 3) WHEN 0 THEN 'ALL' WHEN 1 THEN 'PACK' ELSE 'COACH' END, "
+                + "MOD(x, 3), 100, 1 FROM system_range(1, ?2) r(x)", SEED_ID, ROWS);
+        seed("INSERT INTO occupancy_rollups (id, metric, week_start, counts) "
+                + "SELECT ?1 + x, CASE MOD(x, 2) WHEN 0 THEN 'CHECK_INS' ELSE 'BOOKINGS' END, DATEADD(WEEK, -(x / 2), CURRENT_DATE), X'00' "
+                + "FROM system_range(1, 200) r(x)", SEED_ID);
+        seed("INSERT INTO import_jobs (id, type, status, file_name, created_at, processed_rows, inserted_rows, failed_rows) "
+                + "SELECT ?1 + x, 'CUSTOMERS', 'COMPLETED', 'import' || x || '.csv', CURRENT_TIMESTAMP, 10, 9, 1 FROM system_range(1, 100) r(x)",
+                SEED_ID);
+        seed("INSERT INTO import_row_errors (id, job_id, row_number, message) "
+                + "SELECT ?1 + x, ?1 + MOD(x, 100) + 1, x, 'bad row' FROM system_range(1, ?2) r(x)", SEED_ID, ROWS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        Map<String, List<String>> statements = new LinkedHashMap<>();
+        cases().forEach((name, query) -> statements.put(name, record(query)));
+
+        Map<String, Long> rowCounts = new HashMap<>();
+        List<String> failures = new ArrayList<>();
+        statements.forEach((name, sqls) -> {
+            if (sqls.isEmpty()) {
+                failures.add(name + ": no statement recorded");
+            }
+            for (String sql : sqls) {
+                String plan = explain(sql);
+                if (plan == null) {
+                    continue;
+                }
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                while (scan.find()) {
+                    String table = scan.group(2);
+                    long rows = rowCounts.computeIfAbsent(table,
+                            t -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + t, Long.class));
+                    if (rows > SCAN_THRESHOLD && !EXPECTED_SCANS.contains(name)) {
+                        failures.add(name + ": full scan of " + table + " (" + rows + " rows)\n    " + plan);
+                    }
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), "Queries scanning large tables:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void everyRepositoryQueryHasACase() {
+        Set<String> covered = cases().keySet();
+        Set<String> missing = new TreeSet<>();
+        for (Object bean : context.getBeansOfType(Repository.class).values()) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(bean)) {
+                if (!type.getPackageName().equals(QueryPlanTest.class.getPackageName())) {
+                    continue;
+                }
+                for (Method method : type.getDeclaredMethods()) {
+                    if (!method.isSynthetic() && !covered.contains(type.getSimpleName() + "." + method.getName())) {
+                        missing.add(type.getSimpleName() + "." + method.getName());
+                    }
+                }
+            }
+        }
+        assertTrue(missing.isEmpty(), "Repository methods without a query plan case: " + missing);
+    }
+
+    // One call per repository method, named "Repo.method"; arguments hit seeded rows where it matters
+    private Map<String, Runnable> cases() {
+        long id = SEED_ID + 42;
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Date monthAgo = new Date(System.currentTimeMillis() - 30L * 24 * 3_600_000);
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+
+        cases.put("AlbumRepo.findByName", () -> albumRepo.findByName("Album 7"));
+
+        cases.put("AppUserRepo.findByUserName", () -> appUserRepo.findByUserName("user42"));
+        cases.put("AppUserRepo.findByRoleRoleName", () -> appUserRepo.findByRoleRoleName("ROLE_Coach"));
+        cases.put("AppUserRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase",
+                () -> appUserRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase("42", "42", "42"));
+        cases.put("AppUserRepo.count", appUserRepo::count);
+        cases.put("AppUserRepo.countByRoleRoleName", () -> appUserRepo.countByRoleRoleName("ROLE_Coach"));
+        cases.put("AppUserRepo.findAllIds", appUserRepo::findAllIds);
+        cases.put("AppUserRepo.findAllUserNamesLowerCase", appUserRepo::findAllUserNamesLowerCase);
+
+        cases.put("CheckInRepo.findCheckInTimesAfter", () -> checkInRepo.findCheckInTimesAfter(now.minusMinutes(90)));
+        cases.put("CheckInRepo.findTop100ByCustomerIdOrderByCheckedInAtDesc", () -> checkInRepo.findTop100ByCustomerIdOrderByCheckedInAtDesc(id));
+
+        cases.put("CheckInRevocationRepo.deleteRevokedBefore", () -> checkInRevocationRepo.deleteRevokedBefore(now.minusHours(24)));
+
+        cases.put("ContactMessageRepo.findByStatus", () -> contactMessageRepo.findByStatus(MessageStatus.APPROVED));
+        cases.put("ContactMessageRepo.findAllByOrderByCreatedAtDesc", contactMessageRepo::findAllByOrderByCreatedAtDesc);
+        cases.put("ContactMessageRepo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrMessageContainingIgnoreCase",
+                () -> contactMessageRepo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrMessageContainingIgnoreCase("42", "42", "42"));
+        cases.put("ContactMessageRepo.findByStatusAndNameContainingIgnoreCaseOrStatusAndEmailContainingIgnoreCaseOrStatusAndMessageContainingIgnoreCase",
+                () -> contactMessageRepo.findByStatusAndNameContainingIgnoreCaseOrStatusAndEmailContainingIgnoreCaseOrStatusAndMessageContainingIgnoreCase(
+                        MessageStatus.PENDING, "42", MessageStatus.PENDING, "42", MessageStatus.PENDING, "42"));
+        cases.put("ContactMessageRepo.findOriginalIdByContentHash", () -> contactMessageRepo.findOriginalIdByContentHash(42L * 31));
+        cases.put("ContactMessageRepo.incrementDuplicateCount", () -> contactMessageRepo.incrementDuplicateCount(id, 1));
+        cases.put("ContactMessageRepo.updateStatusByIds", () -> contactMessageRepo.updateStatusByIds(List.of(id, id + 1), MessageStatus.APPROVED));
+        cases.put("ContactMessageRepo.updateStatusMatching",
+                () -> contactMessageRepo.updateStatusMatching(MessageStatus.PENDING, "%spam%", monthAgo, MessageStatus.REJECTED));
+        cases.put("ContactMessageRepo.findIdsMatching", () -> contactMessageRepo.findIdsMatching(MessageStatus.PENDING, "%spam%", monthAgo));
+        cases.put("ContactMessageRepo.deleteByIds", () -> contactMessageRepo.deleteByIds(List.of(id, id + 1)));
+        cases.put("ContactMessageRepo.findFingerprintsSince", () -> contactMessageRepo.findFingerprintsSince(new Date(System.currentTimeMillis() - 86_400_000)));
+
+        cases.put("customerRepo.findByUserId", () -> customerRepo.findByUserId(SEED_ID + 7));
+        cases.put("customerRepo.findByUserName", () -> customerRepo.findByUserName("customer42"));
+        cases.put("customerRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase",
+                () -> customerRepo.findByUserNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrTelephoneContainingIgnoreCase("42", "42", "42"));
+        cases.put("customerRepo.count", customerRepo::count);
+        cases.put("customerRepo.findAllUserNamesLowerCase", customerRepo::findAllUserNamesLowerCase);
+        cases.put("customerRepo.findDistinctPacks", customerRepo::findDistinctPacks);
+        cases.put("customerRepo.findExpiringAfter",
+                () -> customerRepo.findExpiringAfter(today, today.plusDays(30), today, 0L, Limit.of(100)));
+        cases.put("customerRepo.findSegmentFieldsAfter", () -> customerRepo.findSegmentFieldsAfter(id, Limit.of(100)));
+
+        cases.put("ImportJobRepo.findByStatusIn", () -> importJobRepo.findByStatusIn(List.of(ImportStatus.PENDING, ImportStatus.RUNNING)));
+        cases.put("ImportJobRepo.findTop50ByOrderByIdDesc", importJobRepo::findTop50ByOrderByIdDesc);
+
+        cases.put("ImportRowErrorRepo.findByJobIdOrderByRowNumber",
+                () -> importRowErrorRepo.findByJobIdOrderByRowNumber(SEED_ID + 5, PageRequest.of(0, 50)));
+        cases.put("ImportRowErrorRepo.countByJobId", () -> importRowErrorRepo.countByJobId(SEED_ID + 5));
+
+        cases.put("OccupancyRollupRepo.findByMetricAndWeekStart",
+                () -> occupancyRollupRepo.findByMetricAndWeekStart(Metric.CHECK_INS, today));
+        cases.put("OccupancyRollupRepo.findByWeekStartBetween",
+                () -> occupancyRollupRepo.findByWeekStartBetween(today.minusWeeks(12), today));
+        cases.put("OccupancyRollupRepo.countCheckInsByHour", () -> occupancyRollupRepo.countCheckInsByHour(now));
+        cases.put("OccupancyRollupRepo.countBookingsByHour", () -> occupancyRollupRepo.countBookingsByHour(now));
+
+        cases.put("PackRepo.findByNameIgnoreCase", () -> packRepo.findByNameIgnoreCase("pack 3"));
+        cases.put("PackRepo.findByActiveTrueOrderByName", packRepo::findByActiveTrueOrderByName);
+
+        cases.put("PaymentRepo.findByCustomerIdOrderByPaidAtDesc", () -> paymentRepo.findByCustomerIdOrderByPaidAtDesc(id));
+
+        cases.put("PhotoRepo.findByAlbumId", () -> photoRepo.findByAlbumId(SEED_ID + 3));
+
+        cases.put("RevenueRollupRepo.add",
+                () -> revenueRollupRepo.add(SEED_ID + 7, Granularity.DAY.name(), today, Dimension.ALL.name(), 0L, 100L));
+        cases.put("RevenueRollupRepo.findByGranularityAndDimensionAndPeriodStartBetweenOrderByPeriodStartAscDimensionIdAsc",
+                () -> revenueRollupRepo.findByGranularityAndDimensionAndPeriodStartBetweenOrderByPeriodStartAscDimensionIdAsc(
+                        Granularity.DAY, Dimension.PACK, today.minusDays(30), today));
+
+        cases.put("RolesRepo.findByRoleName", () -> rolesRepo.findByRoleName("ROLE_Admin"));
+
+        cases.put("SessionBookingRepo.findBySessionIdAndStatus", () -> sessionBookingRepo.findBySessionIdAndStatus(id, BookingStatus.CONFIRMED));
+        cases.put("SessionBookingRepo.existsBySessionIdAndCustomerIdAndStatus",
+                () -> sessionBookingRepo.existsBySessionIdAndCustomerIdAndStatus(id, id, BookingStatus.CONFIRMED));
+        cases.put("SessionBookingRepo.backfillActiveCustomerIds", sessionBookingRepo::backfillActiveCustomerIds);
+
+        cases.put("SessionWaitlistRepo.findBySessionIdOrderByPositionAsc", () -> sessionWaitlistRepo.findBySessionIdOrderByPositionAsc(id));
+        cases.put("SessionWaitlistRepo.findBySessionIdAndCustomerId", () -> sessionWaitlistRepo.findBySessionIdAndCustomerId(id, id));
+        cases.put("SessionWaitlistRepo.findFirstBySessionIdOrderByPositionAsc", () -> sessionWaitlistRepo.findFirstBySessionIdOrderByPositionAsc(id));
+
+        LocalTime noon = LocalTime.NOON;
+        cases.put("TrainingSessionRepo.findByDateBetween", () -> trainingSessionRepo.findByDateBetween(today, today.plusDays(7)));
+        cases.put("TrainingSessionRepo.findByDate", () -> trainingSessionRepo.findByDate(today));
+        cases.put("TrainingSessionRepo.lockAllById", () -> trainingSessionRepo.lockAllById(List.of(id, id + 1)));
+        cases.put("TrainingSessionRepo.lockByDateBetween", () -> trainingSessionRepo.lockByDateBetween(today, today.plusDays(7)));
+        cases.put("TrainingSessionRepo.countByDate", () -> trainingSessionRepo.countByDate(today));
+        cases.put("TrainingSessionRepo.countActiveSessions", () -> trainingSessionRepo.countActiveSessions(today, noon));
+        cases.put("TrainingSessionRepo.countUpcomingSessions", () -> trainingSessionRepo.countUpcomingSessions(today, noon));
+        cases.put("TrainingSessionRepo.countCompletedSessions", () -> trainingSessionRepo.countCompletedSessions(today, noon));
+        cases.put("TrainingSessionRepo.aggregateStats",
+                () -> trainingSessionRepo.aggregateStats(today.withDayOfMonth(1), today.withDayOfMonth(1).plusMonths(1).minusDays(1), today, noon));
+        cases.put("TrainingSessionRepo.incrementBookedCount", () -> trainingSessionRepo.incrementBookedCount(id));
+        cases.put("TrainingSessionRepo.decrementBookedCount", () -> trainingSessionRepo.decrementBookedCount(id));
+
+        // Plain JDBC repositories, not covered by the method check
+        cases.put("TrainingSessionArchiveRepo.findIdsBefore",
+                () -> trainingSessionArchiveRepo.findIdsBefore(today.minusMonths(12), 0, 1000));
+        cases.put("TrainingSessionArchiveRepo.countByDate", () -> trainingSessionArchiveRepo.countByDate(today.minusMonths(13)));
+        cases.put("TrainingSessionArchiveRepo.countActiveSessions",
+                () -> trainingSessionArchiveRepo.countActiveSessions(today.minusMonths(13), noon));
+        cases.put("TrainingSessionArchiveRepo.aggregateStats",
+                () -> trainingSessionArchiveRepo.aggregateStats(today.minusMonths(14), today.minusMonths(13), today, noon));
+        cases.put("RetentionRepo.findExpiredKeys", () -> {
+            RetentionProperties.Policy policy = new RetentionProperties.Policy();
+            policy.setTable("contact_messages");
+            policy.setAgeColumn("created_at");
+            policy.setCondition("status = 'REJECTED'");
+            retentionRepo.findExpiredKeys(policy, now.minusDays(90), 0, 500);
+        });
+        return cases;
+    }
+
+    // Statements the query sent, in a rolled back transaction so modifying queries leave the seed intact
+    private List<String> record(Runnable query) {
+        List<String> sqls = new ArrayList<>();
+        RECORDED.set(sqls);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            RECORDED.remove();
+        }
+        return sqls;
+    }
+
+    // H2 plans don't depend on parameter values, the statement is explained with its parameters unset
+    private String explain(String sql) {
+        String verb = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+        if (!Set.of("select", "update", "delete").contains(verb)) {
+            return null;
+        }
+        return jdbcTemplate.execute((Connection c) -> {
+            try (PreparedStatement ps = c.prepareStatement("EXPLAIN " + sql); ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1).replaceAll("\\s+", " ");
+            }
+        });
+    }
+
+    private void seed(String sql, Object... args) {
+        jdbcTemplate.update(sql, args);
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        // Wraps the pool so every statement prepared on a recording thread is captured
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                            ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws java.sql.SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws java.sql.SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        List<String> sqls = RECORDED.get();
+                        if (sqls != null && method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                            sqls.add(sql);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (java.lang.reflect.InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.BackEnd.Master.GYM.security;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Logins at saturation: benchmark.clients callers loop on /auth/login for benchmark.seconds. Reports the
+// logins per second the hashing pool sustains, their p50/p99, and how many were turned away with 503
+// (a turned-away client waits for Retry-After before trying again).
+// Run with: mvn test -Dtest=LoginBenchmarkTest -Dbenchmarks=true [-Dbenchmark.clients=200]
+//   [-Dapp.password.queue-depth=0] [-Dapp.password.hashing-threads=0]
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.password.bcrypt-strength=10")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class LoginBenchmarkTest {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 20);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void loginThroughputAtSaturation() throws Exception {
+        // Account created at startup by MasterGymApplication
+        URI login = URI.create("http://localhost:" + port + "/auth/login?userName=Admin&password=amin1234");
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong busy = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        long end = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    List<Long> own = new ArrayList<>();
+                    while (System.nanoTime() < end) {
+                        HttpRequest request = HttpRequest.newBuilder(login).timeout(Duration.ofSeconds(60))
+                                .POST(HttpRequest.BodyPublishers.noBody()).build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                own.add(System.nanoTime() - start);
+                            } else if (response.statusCode() == 503) {
+                                // Clients honour Retry-After, as the login page does
+                                busy.incrementAndGet();
+                                Thread.sleep(1000 * Long.parseLong(response.headers().firstValue("Retry-After").orElse("1")));
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    }
+                    latencies.addAll(own);
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+        long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * 0.99) - 1));
+        System.out.printf("%,d clients: %,.1f logins/s, p50 %,d ms, p99 %,d ms, %,d answered 503, %,d errors (pool rejected %,.0f)%n",
+                CLIENTS, sorted.size() * 1e9 / elapsed, p50 / 1_000_000, p99 / 1_000_000, busy.get(), errors.get(),
+                meterRegistry.get("password.hash.rejected").counter().count());
+        assertTrue(!sorted.isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package com.BackEnd.Master.GYM.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.BackEnd.Master.GYM.controller.TrainingSessionController;
+import com.BackEnd.Master.GYM.dto.SessionBookingDto;
+import com.BackEnd.Master.GYM.entity.TrainingSession;
+import com.BackEnd.Master.GYM.entity.customer;
+import com.BackEnd.Master.GYM.repository.TrainingSessionRepo;
+import com.BackEnd.Master.GYM.repository.customerRepo;
+
+// /training-sessions/** is permitAll, so the member-facing endpoints rely on these method checks alone
+@SpringBootTest
+class MemberAccessTest {
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("key", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+    private static final Authentication COACH = new UsernamePasswordAuthenticationToken("coach", null,
+            AuthorityUtils.createAuthorityList("ROLE_Coach"));
+
+    @Autowired
+    private TrainingSessionController controller;
+    @Autowired
+    private CheckInTokens checkInTokens;
+    @Autowired
+    private TrainingSessionRepo trainingSessionRepo;
+    @Autowired
+    private customerRepo customerRepo;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void membersBookAndCancelOnlyForThemselves() {
+        Long session = session(2).getId();
+        customer member = member("access-member");
+        customer other = member("access-other");
+        String token = checkInTokens.issue(member).token();
+
+        as(ANONYMOUS);
+        assertThrows(AccessDeniedException.class, () -> controller.book(session, member.getId(), null));
+        assertThrows(AccessDeniedException.class, () -> controller.book(session, other.getId(), token));
+        assertThrows(AccessDeniedException.class, () -> controller.book(session, member.getId(), token + "x"));
+        assertThrows(AccessDeniedException.class, () -> controller.findBookings(session));
+
+        SessionBookingDto own = controller.book(session, member.getId(), token).getBody();
+        assertEquals(member.getId(), own.getCustomerId());
+
+        as(COACH);
+        SessionBookingDto booked = controller.book(session, other.getId(), null).getBody();
+        assertEquals(2, controller.findBookings(session).getBody().size());
+
+        as(ANONYMOUS);
+        assertThrows(AccessDeniedException.class, () -> controller.cancelBooking(session, booked.getId(), token));
+        controller.cancelBooking(session, own.getId(), token);
+
+        as(COACH);
+        controller.cancelBooking(session, booked.getId(), null);
+        assertEquals(0, controller.findBookings(session).getBody().size());
+    }
+
+    @Test
+    void membersJoinAndLeaveWaitlistsOnlyForThemselves() {
+        Long session = session(1).getId();
+        customer member = member("waitlist-member");
+        customer other = member("waitlist-other");
+        String token = checkInTokens.issue(member).token();
+
+        as(COACH);
+        controller.book(session, member("waitlist-seated").getId(), null);
+
+        as(ANONYMOUS);
+        assertThrows(AccessDeniedException.class, () -> controller.joinWaitlist(session, other.getId(), token));
+        assertThrows(AccessDeniedException.class, () -> controller.findWaitlist(session));
+        assertEquals(1, controller.joinWaitlist(session, member.getId(), token).getBody().getPosition());
+
+        as(COACH);
+        controller.joinWaitlist(session, other.getId(), null);
+        assertEquals(2, controller.findWaitlist(session).getBody().size());
+
+        as(ANONYMOUS);
+        assertThrows(AccessDeniedException.class, () -> controller.waitlistPosition(session, other.getId(), token));
+        assertThrows(AccessDeniedException.class, () -> controller.leaveWaitlist(session, other.getId(), null));
+        assertEquals(1, controller.waitlistPosition(session, member.getId(), token).getBody());
+        controller.leaveWaitlist(session, member.getId(), token);
+
+        as(COACH);
+        assertEquals(1, controller.waitlistPosition(session, other.getId(), null).getBody());
+    }
+
+    private static void as(Authentication authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private TrainingSession session(int capacity) {
+        TrainingSession session = new TrainingSession();
+        session.setDate(LocalDate.now().plusDays(2));
+        session.setStartTime(LocalTime.of(7, 0));
+        session.setEndTime(LocalTime.of(8, 0));
+        session.setSportName("Boxing");
+        session.setSessionType(TrainingSession.SessionType.GROUP);
+        session.setMaxParticipants(capacity);
+        return trainingSessionRepo.save(session);
+    }
+
+    private customer member(String name) {
+        customer member = new customer();
+        member.setUserName(name);
+        member.setEmail(name + "@mail.test");
+        member.setDateDebut(LocalDate.now().minusDays(10));
+        member.setDateFin(LocalDate.now().plusDays(10));
+        return customerRepo.save(member);
+    }
+}
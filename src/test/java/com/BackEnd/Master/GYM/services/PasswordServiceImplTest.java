@@ -0,0 +1,102 @@
+package com.BackEnd.Master.GYM.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import com.BackEnd.Master.GYM.Exceptions.ServiceBusyException;
+import com.BackEnd.Master.GYM.services.Impl.PasswordServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void unchangedPasswordsAreNotHashedAgain() {
+        PasswordServiceImpl service = new PasswordServiceImpl(new BCryptPasswordEncoder(4), 1, 4, meterRegistry);
+        String stored = service.hash("secret-1");
+
+        assertEquals(stored, service.hashIfChanged(stored, stored));
+        assertEquals(stored, service.hashIfChanged("", stored));
+
+        String changed = service.hashIfChanged("secret-2", stored);
+        assertNotEquals(stored, changed);
+        assertTrue(service.matches("secret-2", changed));
+    }
+
+    @Test
+    void aFullQueueFailsFast() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        PasswordServiceImpl service = new PasswordServiceImpl(slow, 1, 1, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> service.hash("a"));
+            assertTrue(hashing.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> service.hash("b"));
+            while (meterRegistry.get("password.hash.queued").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(ServiceBusyException.class, () -> service.hash("c"));
+            assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void loginUpgradesHashesBelowTheConfiguredCost() {
+        PasswordServiceImpl service = new PasswordServiceImpl(new BCryptPasswordEncoder(5), 1, 4, meterRegistry);
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.withUsername("coach").password(new BCryptPasswordEncoder(4).encode("secret")).roles("Coach").build());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(service.encoder());
+        provider.setUserDetailsService(users);
+        provider.setUserDetailsPasswordService(users);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("coach", "secret"));
+
+        String upgraded = users.loadUserByUsername("coach").getPassword();
+        assertTrue(upgraded.startsWith("$2a$05$"), upgraded);
+        assertTrue(service.matches("secret", upgraded));
+    }
+}
@@ -0,0 +1,139 @@
+package com.BackEnd.Master.GYM.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+// Every operation is replayed on a TreeSet; ids are drawn so chunks sit on both sides of the 4096-value
+// switch between the sorted array and the bitset
+class IdBitmapTest {
+    private static final long CHUNK = 1 << 16;
+
+    @Test
+    void crossesTheArrayBitsetBoundaryBothWays() {
+        IdBitmap bitmap = new IdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        long base = 3 * CHUNK;
+        // Up to the boundary the chunk is an array, one more value turns it into a bitset
+        for (long i = 0; i < 4096; i++) {
+            add(bitmap, expected, base + i * 2);
+        }
+        assertMatches(expected, bitmap);
+        add(bitmap, expected, base + 1);
+        add(bitmap, expected, base + 9001);
+        assertMatches(expected, bitmap);
+
+        // Adding a value already present changes nothing
+        add(bitmap, expected, base + 1);
+        assertMatches(expected, bitmap);
+
+        // Back below the boundary the chunk is an array again, down to empty
+        Random random = new Random(7);
+        List<Long> values = new ArrayList<>(expected);
+        while (!values.isEmpty()) {
+            long id = values.remove(random.nextInt(values.size()));
+            bitmap.remove(id);
+            expected.remove(id);
+            if (values.size() % 397 == 0 || values.size() == 4095 || values.size() == 4097) {
+                assertMatches(expected, bitmap);
+            }
+        }
+        assertTrue(bitmap.isEmpty());
+        bitmap.remove(base);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void setOperationsMatchTreeSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Long> a = new TreeSet<>();
+            TreeSet<Long> b = new TreeSet<>();
+            IdBitmap left = randomBitmap(random, a);
+            IdBitmap right = randomBitmap(random, b);
+
+            TreeSet<Long> and = new TreeSet<>(a);
+            and.retainAll(b);
+            assertMatches(and, left.and(right));
+            assertMatches(and, right.and(left));
+
+            TreeSet<Long> or = new TreeSet<>(a);
+            or.addAll(b);
+            assertMatches(or, left.or(right));
+            assertMatches(or, IdBitmap.orAll(List.of(left, right)));
+
+            TreeSet<Long> andNot = new TreeSet<>(a);
+            andNot.removeAll(b);
+            assertMatches(andNot, left.andNot(right));
+
+            // Results share chunks with their operands, which must be left as they were
+            assertMatches(a, left);
+            assertMatches(b, right);
+        }
+    }
+
+    @Test
+    void pagesSpanChunks() {
+        IdBitmap bitmap = new IdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(3);
+        // Sparse, dense, sparse, dense chunks with a gap in between
+        for (long chunk : new long[] { 0, 1, 5, 6 }) {
+            int count = chunk % 2 == 0 ? 300 : 20_000;
+            for (int i = 0; i < count; i++) {
+                add(bitmap, expected, chunk * CHUNK + random.nextInt(1 << 16));
+            }
+        }
+        List<Long> all = new ArrayList<>(expected);
+        int size = all.size();
+        for (long offset : new long[] { 0, 1, 299, 300, 301, expected.headSet(CHUNK * 5).size() - 1, size - 10, size - 1, size }) {
+            for (int limit : new int[] { 1, 50, 5_000 }) {
+                long[] expectedPage = all.subList((int) offset, (int) Math.min(size, offset + limit)).stream()
+                        .mapToLong(Long::longValue).toArray();
+                assertArrayEquals(expectedPage, bitmap.page(offset, limit), "offset " + offset + ", limit " + limit);
+            }
+        }
+        assertEquals(0, bitmap.page(size + 5, 10).length);
+    }
+
+    private static IdBitmap randomBitmap(Random random, TreeSet<Long> expected) {
+        IdBitmap bitmap = new IdBitmap();
+        for (long chunk = 0; chunk < 4; chunk++) {
+            // Empty, sparse, just around the boundary or dense
+            int count = switch (random.nextInt(4)) {
+                case 0 -> 0;
+                case 1 -> random.nextInt(500);
+                case 2 -> 4090 + random.nextInt(12);
+                default -> 10_000 + random.nextInt(30_000);
+            };
+            for (int i = 0; i < count; i++) {
+                add(bitmap, expected, chunk * CHUNK + random.nextInt(1 << 16));
+            }
+        }
+        return bitmap;
+    }
+
+    private static void add(IdBitmap bitmap, TreeSet<Long> expected, long id) {
+        bitmap.add(id);
+        expected.add(id);
+    }
+
+    private static void assertMatches(TreeSet<Long> expected, IdBitmap actual) {
+        assertEquals(expected.size(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), actual.page(0, expected.size()));
+        if (!expected.isEmpty()) {
+            assertTrue(actual.contains(expected.first()));
+            assertTrue(actual.contains(expected.last()));
+            assertFalse(actual.contains(expected.last() + 1));
+        }
+    }
+}